@@ -0,0 +1,159 @@
+package benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data.TaskManager;
+import data.WorkloadGenerator;
+import data.WorkloadGenerator.DeadlineDistribution;
+import models.AppClock;
+import models.Task;
+
+/**
+ * JMH benchmarks for the {@code TaskManager} calls made by the views: filtering (every status
+ * index of the search view), the calendar's per-day lookups, the overdue history chart,
+ * the upcoming task lists, sorting and the completion rate.
+ * <p>
+ * Each run fills the task list with {@code size} synthetic tasks from the {@code WorkloadGenerator},
+ * with deadlines spread evenly over the four months around a fixed "today", so every status
+ * (overdue, due today, due next week, ...) has tasks. The date is fixed through {@code AppClock}, so results do not depend on
+ * the day the benchmarks run. No user is logged in, so nothing is journaled or saved.
+ * <p>
+ * Run all benchmarks with {@code java -jar target/benchmarks.jar}, or a subset with e.g.
+ * {@code java -jar target/benchmarks.jar TaskManagerBenchmark.setFilteredTasks -p size=10000}.
+ *
+ * @author Labibah Zainab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskManagerBenchmark {
+	/** the date used as today in every benchmark */
+	static final LocalDate TODAY = LocalDate.of(2025, 3, 12);
+
+	/** number of synthetic tasks in the task list */
+	@Param({"1000", "10000", "100000"})
+	public int size;
+
+	/** the generated tasks, in the order they were added */
+	private ArrayList<Task> tasks;
+
+	@Setup(Level.Trial)
+	public void fillTaskList() {
+		AppClock.useFixedDate(TODAY);
+		WorkloadGenerator generator = new WorkloadGenerator(42, TODAY);
+		generator.setDeadlineDistribution(DeadlineDistribution.UNIFORM, 60, 60);
+		tasks = generator.generateTasks(size);
+		fill(tasks);
+	}
+
+	/**
+	 * Replaces the task list with the given tasks.
+	 */
+	static void fill(ArrayList<Task> tasks) {
+		TaskManager.clearTasks();
+		for (Task task : tasks) {
+			TaskManager.addTask(task);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void clearTaskList() {
+		TaskManager.clearTasks();
+		AppClock.useSystemClock();
+	}
+
+	/**
+	 * Filter state: every status index of the search view, with and without a keyword.
+	 */
+	@State(Scope.Benchmark)
+	public static class FilterOptions {
+		/** status index, see {@code TaskFilter} */
+		@Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"})
+		public int statusIndex;
+
+		/** search keyword, "All" for no keyword */
+		@Param({"All", "physics"})
+		public String keyword;
+	}
+
+	@Benchmark
+	public ArrayList<Task> setFilteredTasks(FilterOptions options) {
+		TaskManager.setFilteredTasks(options.keyword, null, options.statusIndex);
+		return TaskManager.getLatestFilteredTasks();
+	}
+
+	/**
+	 * One calendar week: the tasks due on each of seven days.
+	 */
+	@Benchmark
+	public int getTasksOnDateForWeek() {
+		int count = 0;
+		for (int i = 0; i < 7; i++) {
+			count += TaskManager.getTasksOnDate(TODAY.plusDays(i)).size();
+		}
+		return count;
+	}
+
+	@Benchmark
+	public Map<LocalDate, Integer> getOverdueHistory30Days() {
+		return TaskManager.getOverdueHistory(30);
+	}
+
+	@Benchmark
+	public ArrayList<Task> getTaskDueInNext14Days() {
+		return TaskManager.getTaskDueInNext(14, null);
+	}
+
+	@Benchmark
+	public double getCompletionRate() {
+		return TaskManager.getCompletionRate();
+	}
+
+	/**
+	 * Refills the task list in a random order before each sort, so every sort starts from an unsorted list.
+	 * The refill is not measured.
+	 */
+	@State(Scope.Benchmark)
+	public static class ShuffledTasks {
+		private final Random random = new Random(7);
+
+		@Setup(Level.Invocation)
+		public void shuffle(TaskManagerBenchmark benchmark) {
+			ArrayList<Task> shuffled = new ArrayList<>(benchmark.tasks);
+			Collections.shuffle(shuffled, random);
+			fill(shuffled);
+		}
+	}
+
+	@Benchmark
+	public void prioritizeTaskList(ShuffledTasks shuffled) {
+		TaskManager.prioritizeTaskList();
+	}
+
+	@Benchmark
+	public void sortTasksByDeadline(ShuffledTasks shuffled) {
+		TaskManager.sortTasksByDeadline();
+	}
+}
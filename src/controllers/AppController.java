@@ -1,8 +1,18 @@
 package controllers;
 
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+
+import data.CallTimings;
+import data.LocalTaskStore;
 import data.TaskManager;
 import data.ThemeManager;
 import data.UserDataManager;
+import models.Task;
 import models.User;
 import models.UserSession;
 import views.LogInFrame;
@@ -18,22 +28,92 @@ public class AppController {
 	/**
      * Starts the application.
      * Called from Main.java at startup.
+     * <p>
+     * If a user was logged in when the app was closed, the main window is shown right away in a
+     * loading state while two stages run in parallel on background threads: checking the saved
+     * credentials against the user repository, and reading the user's local task snapshot. Only once the
+     * credentials are checked are the tasks loaded (opening the journal and reading the task repository),
+     * then the dashboard is shown; if the credentials are no longer valid, the login view is shown instead.
+     * The time of each stage is recorded in {@code CallTimings}.
      */
     public static void startApp() {
-    	UserDataManager.loadUserLoggedIn();
-    	
-    	// if user was logged in when app was closed
-    	if(UserDataManager.getIsLoggedIn()) {
-    		User user = UserDataManager.getUserLoggedIn();
-    		if (UserController.login(user.getUsername(), user.getPassword())) {
-				onLogInSuccess(UserSession.getCurrentUser());
-			}
-    	}
+    	long start = System.nanoTime();
+    	User savedUser = UserDataManager.readSavedUser(); // local file, no network
     	
     	// if user logged out before app was closed
-    	else {
+    	if (savedUser == null) {
+    		UserDataManager.setIsLoggedIn(false);
     		new LogInFrame(); // Launch login view
+    		return;
     	}
+    	
+    	// if user was logged in when app was closed
+    	String username = savedUser.getUsername();
+    	ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+    		Thread thread = new Thread(runnable, "startup");
+    		thread.setDaemon(true);
+    		return thread;
+    	});
+    	CompletableFuture<User> authentication = CompletableFuture.supplyAsync(() -> {
+    		long stageStart = System.nanoTime();
+    		try {
+    			return UserDataManager.authenticateUser(username, savedUser.getPassword());
+    		} finally {
+    			CallTimings.record("startupAuthenticate", stageStart);
+    		}
+    	}, executor);
+    	// only the local snapshot is read before the credentials are checked; nothing is written
+    	// and the task repository is not touched for a user who is not authenticated
+    	CompletableFuture<ArrayList<Task>> snapshotReading = CompletableFuture.supplyAsync(() -> {
+    		long stageStart = System.nanoTime();
+    		try {
+    			return LocalTaskStore.read(username);
+    		} finally {
+    			CallTimings.record("startupReadSnapshot", stageStart);
+    		}
+    	}, executor);
+    	CompletableFuture<Void> taskLoading = authentication.thenAcceptBothAsync(snapshotReading, (user, snapshot) -> {
+    		if (user == null) {
+    			return;
+    		}
+    		long stageStart = System.nanoTime();
+    		try {
+    			TaskManager.loadTasksForUser(username, snapshot);
+    		} finally {
+    			CallTimings.record("startupLoadTasks", stageStart);
+    		}
+    	}, executor);
+    	CompletableFuture<MainFrame> frameShown = CompletableFuture.supplyAsync(() -> {
+    		long stageStart = System.nanoTime();
+    		ThemeManager.loadThemePreference();
+    		MainFrame mainFrame = new MainFrame(username, true);
+    		CallTimings.record("startupShowFrame", stageStart);
+    		return mainFrame;
+    	}, SwingUtilities::invokeLater);
+    	
+    	CompletableFuture.allOf(authentication, taskLoading, frameShown).whenCompleteAsync((ignored, error) -> {
+    		executor.shutdown();
+    		MainFrame mainFrame = frameShown.getNow(null);
+    		User user = error == null ? authentication.join() : null;
+    		if (error != null) {
+    			error.printStackTrace();
+    		}
+    		if (user != null) {
+    			UserDataManager.setIsLoggedIn(true);
+    			UserController.startSession(user);
+    			mainFrame.showDashboard();
+    		}
+    		else {
+    			// saved credentials no longer valid (or loading failed): forget the loaded tasks and log in again
+    			TaskManager.unloadTasks();
+    			UserDataManager.setIsLoggedIn(false);
+    			if (mainFrame != null) {
+    				mainFrame.dispose();
+    			}
+    			new LogInFrame();
+    		}
+    		CallTimings.record("startupTotal", start);
+    	}, SwingUtilities::invokeLater);
     }
     
     /**
@@ -1,12 +1,16 @@
 package controllers;
 
 import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.SwingWorker;
 
 import data.TaskManager;
+import models.Task;
 import models.UserSession;
 import views.SearchView;
 import views.TaskListPanel;
@@ -20,6 +24,12 @@ import views.ViewContext;
  */
 public class SearchController {
 	
+	/** number of the latest search started; results of older searches are dropped */
+	private static long latestSearch = 0;
+	
+	/** the search running in the background, null if none */
+	private static SwingWorker<ArrayList<Task>, Void> runningSearch;
+	
 	/**
      * Displays the search interface in the provided main content panel.
      * <p>
@@ -56,4 +66,61 @@ public class SearchController {
 		searchResultsPanel.revalidate();
 		searchResultsPanel.repaint();
 	}
+	
+	/**
+     * Cancels the search running in the background, if any, and removes the shown results,
+     * e.g. when the keyword is erased.
+     *
+     * @param searchResultsPanel the panel where the results are displayed
+     */
+	public static void clearSearchResult(JPanel searchResultsPanel) {
+		latestSearch++;
+		if (runningSearch != null) {
+			runningSearch.cancel(false);
+			runningSearch = null;
+		}
+		TaskManager.setLatestFilteredTasks(new ArrayList<>());
+		searchResultsPanel.removeAll();
+		searchResultsPanel.revalidate();
+		searchResultsPanel.repaint();
+	}
+	
+	/**
+     * Searches the tasks for the keyword in the background and shows the results in
+     * {@code searchResultsPanel} once done. Must be called on the event dispatch thread.
+     * <p>
+     * Starting a new search cancels the previous one, and only the results of the latest
+     * search are shown, so results never appear out of order while the user is typing.
+     *
+     * @param keyword the search keyword
+     * @param searchResultsPanel the panel where the results should be displayed
+     */
+	public static void searchInBackground(String keyword, JPanel searchResultsPanel) {
+		long search = ++latestSearch;
+		if (runningSearch != null) {
+			runningSearch.cancel(false);
+		}
+		
+		runningSearch = new SwingWorker<ArrayList<Task>, Void>() {
+			@Override
+			protected ArrayList<Task> doInBackground() {
+				return TaskManager.searchTasks(keyword);
+			}
+			
+			@Override
+			protected void done() {
+				// a newer search was started, or the search view was closed
+				if (isCancelled() || search != latestSearch || !searchResultsPanel.isShowing()) {
+					return;
+				}
+				try {
+					TaskManager.setLatestFilteredTasks(get());
+					refreshSearchResult(searchResultsPanel);
+				} catch (InterruptedException | ExecutionException e) {
+					e.printStackTrace();
+				}
+			}
+		};
+		runningSearch.execute();
+	}
 }
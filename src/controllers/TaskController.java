@@ -7,7 +7,6 @@ import java.awt.Font;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -21,6 +20,7 @@ import javax.swing.SwingConstants;
 
 import data.TaskManager;
 import data.ThemeManager;
+import models.AppClock;
 import models.PriorityLevel;
 import models.Task;
 import models.UserSession;
@@ -44,7 +44,7 @@ public class TaskController{
      * Opens a new window that allows the user to create and add a new task.
      *
      * @param parentFrame  the parent frame to center the popup on
-     * @param mainContent  the main content panel to refresh after task creation
+     * @param mainContent  the main content panel of the main frame
      */
 	public static void addNewTask(JFrame parentFrame, JPanel mainContent) {
 		
@@ -57,7 +57,7 @@ public class TaskController{
 		inputPanel.setTitleFieldText("");
 		inputPanel.setDescriptionText("");
 		inputPanel.setPriorityLevelBoxOption(PriorityLevel.HIGH);
-		inputPanel.setDeadlinePickerdate(new Date());
+		inputPanel.setDeadlinePickerdate(AppClock.today());
 		
 		inputFrame.add(inputPanel, BorderLayout.CENTER);
 		inputFrame.setVisible(true);
@@ -94,8 +94,7 @@ public class TaskController{
 			
 			JOptionPane.showMessageDialog(inputFrame, "New task added!");
 			inputFrame.dispose();
-			
-			refresh(mainContent, UserSession.getCurentViewContext(), null);
+			// the views showing the new task's list or day add it when TaskManager reports the change
 		});
 		
 		// cancel button logic: close window
@@ -130,13 +129,8 @@ public class TaskController{
 			// get pending tasks
 			ArrayList<Task> tasks = TaskManager.getTasksOnDate(date);
 			// also get completed tasks
-			ArrayList<Task> completedTasks = TaskManager.getCompletedTasks();
-			for(Task t: completedTasks) {
-				if (t.getDeadline().equals(date)) {
-					tasks.add(t);
-				}
-			}
-			taskListPanel = new TaskListPanel(mainContent, tasks, ViewContext.TASK_LIST_ON_DATE);
+			tasks.addAll(TaskManager.getCompletedTasksOnDate(date));
+			taskListPanel = new TaskListPanel(mainContent, tasks, ViewContext.TASK_LIST_ON_DATE, date);
 		}
 		else {
 			JPanel topPanel = new JPanel(new BorderLayout(10, 10));
@@ -223,8 +217,9 @@ public class TaskController{
 	/**
 	 * Refreshes the main content panel depending on the user's current view context.
 	 * <p>
-	 * This acts as a centralized method to rerender content based on a UI event like
-	 * saving a task, deleting a task, or marking a task complete.
+	 * This acts as a centralized method to rerender the whole view, e.g. after the theme changed.
+	 * Changes to single tasks do not need it: views listening to {@code TaskManager}
+	 * update only the affected rows and day cells.
 	 *
 	 * @param mainContent   the main panel to refresh
 	 * @param view          the current {@code ViewContext}, which determines what to refresh
@@ -253,8 +248,8 @@ public class TaskController{
 	/**
      * Opens an editing window for a given task.
      * <p>
-     * The task can be updated and saved. Once saved, the UI is refreshed
-     * based on the view context (task list or calendar).
+     * The task can be updated and saved. Once saved, the rows, day cells and pop-ups
+     * showing the task are updated through {@code TaskManager}'s task change events.
      *
      * @param task         the task to be edited
      * @param infoPanel    the panel containing task preview info (optional for reuse)
@@ -279,19 +274,17 @@ public class TaskController{
 		buttonPanel.add(saveButton);
 		
 		saveButton.addActionListener(e -> {
-			task.setTitle(inputPanel.getTitleText());
-			task.setDescription(inputPanel.getDescriptionText());
-			task.setPriorityLevel(inputPanel.getPriorityLevelFromBox());
 			if(inputPanel.getDeadlineFromPicker() == null) {
 				JOptionPane.showMessageDialog(inputPanel, "Please select a deadline");
 				return; // return from action performed method
 			}
-			task.setDeadline(inputPanel.getDeadlineFromPicker());
+			// task list is flagged as modified, and the task is re-indexed if its deadline changed
+			TaskManager.editTask(task, inputPanel.getTitleText(), inputPanel.getDescriptionText(), 
+					inputPanel.getPriorityLevelFromBox(), inputPanel.getDeadlineFromPicker());
 			
 			changeFrame.dispose();
 			// TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			TaskManager.flagTaskListAsModified(true);
-			refresh(mainContent, view, task.getDeadline());
+			// the views showing the task update it when TaskManager reports the change
 		});
 		
 		JButton cancelButton = new JButton("Cancel");
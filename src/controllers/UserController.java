@@ -1,5 +1,7 @@
 package controllers;
 
+import data.JournalFlusher;
+import data.TaskJournal;
 import data.TaskManager;
 import data.UserDataManager;
 import models.User;
@@ -29,6 +31,7 @@ public class UserController {
 		UserDataManager.saveUser(user);
 		UserSession.login(user); // automatically login new user
 		TaskManager.loadTasksForUser(username); // load user's tasks
+		JournalFlusher.start(username); // save changes in the background
 		return true;
 	}
 	
@@ -41,27 +44,37 @@ public class UserController {
      * @return true if login is successful, false otherwise
      */
 	public static boolean login(String username, String password) {
-		if(!UserDataManager.userExists(username)) {
-			return false;
-		}
-		User user = UserDataManager.authenticateUser(username, password);
+		User user = UserDataManager.authenticateUser(username, password); // unknown users are not authenticated either
 		
 		if (user != null) {
-			UserSession.login(user); // login user
-			TaskManager.loadTasksForUser(username); // load user's tasks
+			TaskManager.loadTasksForUser(username); // load user's tasks (and replay unsaved changes)
+			startSession(user);
 			return true;
 		}
 		return false;
 	}
 	
+	/**
+	 * Starts the session of a user who was authenticated and whose tasks were loaded,
+	 * e.g. by the startup pipeline, which does both in the background.
+	 * 
+	 * @param user the authenticated user
+	 */
+	public static void startSession(User user) {
+		UserSession.login(user); // login user
+		JournalFlusher.start(user.getUsername()); // save changes in the background
+	}
+	
 	/**
      * Logs out the currently logged-in user.
-     * Saves their task data and clears the session.
+     * Saves their task data (waiting only a few seconds; unsaved changes stay in the
+     * journal for the next login) and clears the session.
      */
 	public static void logout() {
 		User currentUser = UserSession.getCurrentUser();
 		if (currentUser != null) {
-			TaskManager.saveTasksForUser(currentUser.getUsername());
+			JournalFlusher.flushAndStop(currentUser.getUsername());
+			TaskJournal.close();
 		}
 		UserSession.logout();
 	}
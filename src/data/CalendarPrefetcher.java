@@ -0,0 +1,52 @@
+package data;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code CalendarPrefetcher} builds the month summaries a calendar is likely to show next
+ * (the months before and after the one on screen) on a background thread, so navigating with
+ * the arrows finds them in {@code TaskManager}'s cache instead of summarizing on the event
+ * dispatch thread.
+ * <p>
+ * Only the data is prefetched; the day cells are Swing components and are still created
+ * on the event dispatch thread when the grid is shown.
+ *
+ * @author Labibah Zainab
+ */
+public class CalendarPrefetcher {
+	/** builds the summaries on a single daemon thread */
+	private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "calendar-prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** months waiting to be built, so repeated requests are not queued twice */
+	private static final Set<YearMonth> queuedMonths = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Builds the summaries of the given months in the background, if they are not cached yet.
+	 * Each month is built together with its own neighbours.
+	 *
+	 * @param months the months to prefetch
+	 */
+	public static void prefetch(YearMonth... months) {
+		for (YearMonth month : months) {
+			if (queuedMonths.add(month)) {
+				executor.execute(() -> {
+					try {
+						TaskManager.getMonthSummary(month);
+					} catch (RuntimeException e) {
+						e.printStackTrace();
+					} finally {
+						queuedMonths.remove(month);
+					}
+				});
+			}
+		}
+	}
+}
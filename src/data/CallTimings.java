@@ -0,0 +1,118 @@
+package data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code CallTimings} class keeps simple per-call latency counters
+ * (number of calls, total time and slowest call) for named operations such as
+ * Google Sheets reads and writes.
+ * <p>
+ * Counters live for the lifetime of the app and can be printed with {@link #printSummary()}.
+ *
+ * @author Labibah Zainab
+ */
+public class CallTimings {
+
+	/**
+	 * counters per operation name, sorted by name for printing
+	 */
+	private static final Map<String, Timing> timings = new TreeMap<>();
+
+	/**
+	 * Records one call of the named operation that started at {@code startNanos}.
+	 * Typical usage:
+	 * <pre>
+	 * long start = System.nanoTime();
+	 * try {
+	 *     // do the call
+	 * } finally {
+	 *     CallTimings.record("readUsersFromSheets", start);
+	 * }
+	 * </pre>
+	 *
+	 * @param name the name of the operation
+	 * @param startNanos the value of {@code System.nanoTime()} when the call started
+	 */
+	public static void record(String name, long startNanos) {
+		long elapsed = System.nanoTime() - startNanos;
+		synchronized (timings) {
+			timings.computeIfAbsent(name, n -> new Timing()).add(elapsed);
+		}
+	}
+
+	/**
+	 * Returns the number of recorded calls of the named operation.
+	 *
+	 * @param name the name of the operation
+	 * @return number of calls, 0 if never called
+	 */
+	public static long getCount(String name) {
+		synchronized (timings) {
+			Timing timing = timings.get(name);
+			return timing == null ? 0 : timing.count;
+		}
+	}
+
+	/**
+	 * Returns the total time spent in the named operation, in milliseconds.
+	 *
+	 * @param name the name of the operation
+	 * @return total milliseconds, 0 if never called
+	 */
+	public static double getTotalMillis(String name) {
+		synchronized (timings) {
+			Timing timing = timings.get(name);
+			return timing == null ? 0 : timing.totalNanos / 1_000_000.0;
+		}
+	}
+
+	/**
+	 * Returns a human-readable table of all counters, one operation per line.
+	 *
+	 * @return the summary text
+	 */
+	public static String getSummary() {
+		StringBuilder summary = new StringBuilder("Call timings (calls / total ms / avg ms / max ms):");
+		synchronized (timings) {
+			for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+				Timing timing = entry.getValue();
+				summary.append(String.format("%n  %-28s %6d %10.1f %8.1f %8.1f", entry.getKey(), timing.count,
+						timing.totalNanos / 1_000_000.0, timing.totalNanos / 1_000_000.0 / timing.count,
+						timing.maxNanos / 1_000_000.0));
+			}
+		}
+		return summary.toString();
+	}
+
+	/**
+	 * Prints the summary of all counters to standard output.
+	 */
+	public static void printSummary() {
+		System.out.println(getSummary());
+	}
+
+	/**
+	 * Clears all counters.
+	 */
+	public static void reset() {
+		synchronized (timings) {
+			timings.clear();
+		}
+	}
+
+	/**
+	 * Counter for a single operation.
+	 */
+	private static class Timing {
+		private long count;
+		private long totalNanos;
+		private long maxNanos;
+
+		private void add(long nanos) {
+			count++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+		}
+	}
+}
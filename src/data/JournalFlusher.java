@@ -0,0 +1,98 @@
+package data;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code JournalFlusher} saves the logged in user's pending task changes to the
+ * Google Sheet in the background, every {@value #FLUSH_INTERVAL_SECONDS} seconds.
+ * <p>
+ * Changes are recorded in the {@code TaskJournal} as they happen, and coalesced per task
+ * in {@code TaskManager}, so a flush writes each changed task once no matter how often it
+ * was edited in between.
+ *
+ * @author Labibah Zainab
+ */
+public class JournalFlusher {
+	/** seconds between two background flushes */
+	public static final long FLUSH_INTERVAL_SECONDS = 30;
+	
+	/** longest time logout or closing the app waits for the last flush */
+	public static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+	/** runs the flushes on a single daemon thread, null if not started */
+	private static ScheduledExecutorService executor;
+
+	/** the user whose changes are flushed, null if not started */
+	private static String flushedUsername;
+
+	/**
+	 * Starts flushing the given user's changes in the background.
+	 * The first flush runs right away, so changes replayed from the journal are saved soon after login.
+	 * If another user's changes were still being flushed, that flush and the user's saves are waited for
+	 * first (at most {@value #SHUTDOWN_TIMEOUT_SECONDS} seconds).
+	 *
+	 * @param username the username of the logged in user
+	 */
+	public static synchronized void start(String username) {
+		if (executor != null) {
+			flushAndStop(flushedUsername);
+		}
+		flushedUsername = username;
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "journal-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() -> flush(username), 0, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Runs one last flush and stops the background thread, then waits for the user's other saves
+	 * (e.g. from "Save now"), at most {@value #SHUTDOWN_TIMEOUT_SECONDS} seconds in all. Changes that
+	 * are not saved in time stay in the journal and are saved after the next login.
+	 *
+	 * @param username the username of the logged in user
+	 */
+	public static synchronized void flushAndStop(String username) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+		if (executor != null) {
+			executor.execute(() -> flush(username));
+			stop(SHUTDOWN_TIMEOUT_SECONDS);
+		}
+		PersistenceExecutor.awaitSaves(username, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+	}
+
+	/**
+	 * Stops the background thread, letting an already running flush finish within {@code timeoutSeconds}.
+	 */
+	private static void stop(long timeoutSeconds) {
+		if (executor == null) {
+			return;
+		}
+		executor.shutdown();
+		try {
+			executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor = null;
+		flushedUsername = null;
+	}
+
+	/**
+	 * Saves the user's pending changes, if any, through the {@code PersistenceExecutor}, joining a save
+	 * requested by the views, and waits for it. Nothing is done once another user's tasks are loaded.
+	 * Errors are reported and the changes are kept for the next flush.
+	 */
+	private static void flush(String username) {
+		try {
+			if (TaskManager.hasPendingChanges(username)) {
+				PersistenceExecutor.requestSave(username).join();
+			}
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+}
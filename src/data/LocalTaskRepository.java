@@ -0,0 +1,101 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+import models.Task;
+
+/**
+ * Stores tasks in files on this computer, one file per user, using the same compact
+ * format as the {@code LocalTaskStore} snapshots. Needs no network, so the app can be
+ * run and load-tested offline.
+ * <p>
+ * Each user's tasks are kept in memory after the first load; a save applies the
+ * changes and rewrites that user's file.
+ *
+ * @author Labibah Zainab
+ */
+public class LocalTaskRepository implements TaskRepository {
+	/** default directory of the task files */
+	public static final String DEFAULT_DIR = "config/local/tasks";
+
+	/** directory of the task files */
+	private final String directory;
+
+	/** tasks of each user loaded so far, by id in list order */
+	private final HashMap<String, LinkedHashMap<String, Task>> tasksByUser = new HashMap<>();
+
+	/**
+	 * Creates a repository storing its files in {@value #DEFAULT_DIR}.
+	 */
+	public LocalTaskRepository() {
+		this(DEFAULT_DIR);
+	}
+
+	/**
+	 * Creates a repository storing its files in the given directory.
+	 *
+	 * @param directory the directory of the task files
+	 */
+	public LocalTaskRepository(String directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public synchronized ArrayList<Task> loadTasks(String username) {
+		ArrayList<Task> tasks = new ArrayList<>();
+		for (Task task : tasksOf(username).values()) {
+			tasks.add(task.copy());
+		}
+		return tasks;
+	}
+
+	@Override
+	public synchronized boolean saveChanges(TaskChangeSet changes, String username) {
+		LinkedHashMap<String, Task> tasks = tasksOf(username);
+		LinkedHashMap<String, Task> updated;
+		if (changes.isReordered()) {
+			updated = new LinkedHashMap<>();
+			for (Task task : changes.getNewOrder()) {
+				updated.put(task.getId(), task.copy());
+			}
+		}
+		else {
+			updated = new LinkedHashMap<>(tasks);
+		}
+		for (String id : changes.getDeletedTaskIds()) {
+			updated.remove(id);
+		}
+		for (Task task : changes.getChangedTasks()) {
+			updated.put(task.getId(), task.copy());
+		}
+		for (Task task : changes.getInsertedTasks()) {
+			updated.put(task.getId(), task.copy());
+		}
+
+		if (!LocalTaskStore.write(directory, username, new ArrayList<>(updated.values()))) {
+			return false;
+		}
+		tasksByUser.put(username, updated);
+		return true;
+	}
+
+	/**
+	 * Returns the user's tasks, reading the user's file the first time.
+	 */
+	private LinkedHashMap<String, Task> tasksOf(String username) {
+		LinkedHashMap<String, Task> tasks = tasksByUser.get(username);
+		if (tasks == null) {
+			tasks = new LinkedHashMap<>();
+			ArrayList<Task> stored = LocalTaskStore.read(directory, username);
+			if (stored != null) {
+				for (Task task : stored) {
+					tasks.put(task.getId(), task);
+				}
+			}
+			tasksByUser.put(username, tasks);
+		}
+		return tasks;
+	}
+}
@@ -0,0 +1,296 @@
+package data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import models.PriorityLevel;
+import models.Task;
+
+/**
+ * The {@code LocalTaskStore} keeps a binary snapshot of each user's task list on disk,
+ * under {@code config/store}, so tasks can be shown right after login without waiting
+ * for the Google Sheet.
+ * <p>
+ * A snapshot file is laid out as:
+ * <ul>
+ * 	<li>a header: magic number, format version, number of tasks, number of strings</li>
+ * 	<li>one fixed-width record per task, holding string indices and numeric fields</li>
+ * 	<li>the offset of each string in the string pool</li>
+ * 	<li>the string pool: each distinct string once, as UTF-8 bytes</li>
+ * </ul>
+ * Snapshots are read through a memory-mapped buffer. Each write goes to a new file with a
+ * higher generation number, so a file that is still mapped is never overwritten; older
+ * generations are deleted when possible.
+ *
+ * @author Labibah Zainab
+ */
+public class LocalTaskStore {
+	private static final String STORE_DIR = "config/store";
+	private static final String EXTENSION = ".snap";
+
+	/** "SPTS" - Study Planner Task Snapshot */
+	private static final int MAGIC = 0x53505453;
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 16;
+
+	/**
+	 * id, title and description string indices (3 ints), priority and completed flag (2 bytes),
+	 * padding (2 bytes), deadline and completion date as epoch days (2 ints)
+	 */
+	private static final int RECORD_SIZE = 24;
+
+	/** completion day stored for tasks that are not completed */
+	private static final int NO_DATE = Integer.MIN_VALUE;
+
+	/**
+	 * Reads the latest snapshot of the given user's tasks.
+	 *
+	 * @param username the username of the user
+	 * @return the tasks in the snapshot, or {@code null} if there is no readable snapshot
+	 */
+	public static ArrayList<Task> read(String username) {
+		return read(STORE_DIR, username);
+	}
+
+	/**
+	 * Reads the latest snapshot of the given user's tasks from the given directory.
+	 *
+	 * @param directory the directory holding the snapshots
+	 * @param username the username of the user
+	 * @return the tasks in the snapshot, or {@code null} if there is no readable snapshot
+	 */
+	public static ArrayList<Task> read(String directory, String username) {
+		long start = System.nanoTime();
+		File file = latestSnapshot(directory, username);
+		if (file == null) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return decode(buffer);
+		} catch (IOException | RuntimeException e) {
+			System.out.println("Failed to read task snapshot " + file + ": " + e);
+			return null;
+		} finally {
+			CallTimings.record("readTaskSnapshot", start);
+		}
+	}
+
+	/**
+	 * Writes a new snapshot of the given user's tasks and removes older snapshots.
+	 *
+	 * @param username the username of the user
+	 * @param tasks all tasks of the user, in list order
+	 */
+	public static void write(String username, List<Task> tasks) {
+		write(STORE_DIR, username, tasks);
+	}
+
+	/**
+	 * Writes a new snapshot of the given user's tasks to the given directory and removes older snapshots.
+	 *
+	 * @param directory the directory holding the snapshots
+	 * @param username the username of the user
+	 * @param tasks all tasks of the user, in list order
+	 * @return true if the snapshot was written
+	 */
+	public static synchronized boolean write(String directory, String username, List<Task> tasks) {
+		long start = System.nanoTime();
+		try {
+			new File(directory).mkdirs(); // ensure directory exists
+			File previous = latestSnapshot(directory, username);
+			long generation = previous == null ? 1 : generationOf(previous, username) + 1;
+			File file = new File(directory, TaskJournal.fileNameOf(username) + "." + generation + EXTENSION);
+			File temp = new File(directory, TaskJournal.fileNameOf(username) + "." + generation + EXTENSION + ".tmp");
+
+			ByteBuffer buffer = encode(tasks);
+			try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			}
+			// a snapshot only becomes visible once it is complete
+			if (!temp.renameTo(file)) {
+				throw new IOException("Could not rename " + temp + " to " + file);
+			}
+			deleteOlderSnapshots(directory, username, generation);
+			return true;
+		} catch (IOException e) {
+			System.out.println("Failed to write task snapshot for " + username + ": " + e);
+			return false;
+		} finally {
+			CallTimings.record("writeTaskSnapshot", start);
+		}
+	}
+
+	/**
+	 * Lays out the tasks as header, fixed-width records, string offsets and string pool.
+	 */
+	private static ByteBuffer encode(List<Task> tasks) {
+		// each distinct string is stored once
+		HashMap<String, Integer> stringIndex = new HashMap<>();
+		List<byte[]> strings = new ArrayList<>();
+		int poolSize = 0;
+		int[] refs = new int[tasks.size() * 3];
+		for (int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			String[] fields = { task.getId(), task.getTitle(), task.getDescription() };
+			for (int f = 0; f < fields.length; f++) {
+				String value = fields[f] == null ? "" : fields[f];
+				Integer index = stringIndex.get(value);
+				if (index == null) {
+					index = strings.size();
+					stringIndex.put(value, index);
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					strings.add(bytes);
+					poolSize += bytes.length;
+				}
+				refs[i * 3 + f] = index;
+			}
+		}
+
+		int size = HEADER_SIZE + tasks.size() * RECORD_SIZE + (strings.size() + 1) * 4 + poolSize;
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(tasks.size()).putInt(strings.size());
+
+		for (int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			buffer.putInt(refs[i * 3]).putInt(refs[i * 3 + 1]).putInt(refs[i * 3 + 2]);
+			buffer.put((byte) task.getPriorityLevel().ordinal());
+			buffer.put((byte) (task.isCompleted() ? 1 : 0));
+			buffer.putShort((short) 0);
+			buffer.putInt((int) task.getDeadline().toEpochDay());
+			LocalDate completionDate = task.getCompletionDate();
+			buffer.putInt(completionDate == null ? NO_DATE : (int) completionDate.toEpochDay());
+		}
+
+		// offsets of each string in the pool, plus the end of the pool
+		int offset = 0;
+		for (byte[] bytes : strings) {
+			buffer.putInt(offset);
+			offset += bytes.length;
+		}
+		buffer.putInt(offset);
+		for (byte[] bytes : strings) {
+			buffer.put(bytes);
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Reads the tasks back from a snapshot buffer.
+	 */
+	private static ArrayList<Task> decode(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("not a task snapshot");
+		}
+		int taskCount = buffer.getInt(8);
+		int stringCount = buffer.getInt(12);
+		int offsetsStart = HEADER_SIZE + taskCount * RECORD_SIZE;
+		int poolStart = offsetsStart + (stringCount + 1) * 4;
+
+		// strings are decoded once each, then shared by the tasks that use them
+		String[] strings = new String[stringCount];
+		PriorityLevel[] priorityLevels = PriorityLevel.values();
+		ArrayList<Task> tasks = new ArrayList<>(taskCount);
+		for (int i = 0; i < taskCount; i++) {
+			int record = HEADER_SIZE + i * RECORD_SIZE;
+			String id = stringAt(buffer, strings, buffer.getInt(record), offsetsStart, poolStart);
+			String title = stringAt(buffer, strings, buffer.getInt(record + 4), offsetsStart, poolStart);
+			String description = stringAt(buffer, strings, buffer.getInt(record + 8), offsetsStart, poolStart);
+			PriorityLevel priorityLevel = priorityLevels[buffer.get(record + 12)];
+			boolean completed = buffer.get(record + 13) == 1;
+			LocalDate deadline = LocalDate.ofEpochDay(buffer.getInt(record + 16));
+			int completionDay = buffer.getInt(record + 20);
+
+			Task task = new Task(id, title, description, deadline, priorityLevel);
+			task.setCompleted(completed);
+			task.setCompletionDate(completionDay == NO_DATE ? null : LocalDate.ofEpochDay(completionDay));
+			tasks.add(task);
+		}
+		return tasks;
+	}
+
+	private static String stringAt(ByteBuffer buffer, String[] strings, int index, int offsetsStart, int poolStart) {
+		if (strings[index] == null) {
+			int from = buffer.getInt(offsetsStart + index * 4);
+			int to = buffer.getInt(offsetsStart + (index + 1) * 4);
+			byte[] bytes = new byte[to - from];
+			buffer.get(poolStart + from, bytes);
+			strings[index] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return strings[index];
+	}
+
+	/**
+	 * Returns the snapshot file with the highest generation for the user, or null if there is none.
+	 */
+	private static File latestSnapshot(String directory, String username) {
+		File latest = null;
+		long latestGeneration = -1;
+		for (File file : snapshotsOf(directory, username)) {
+			long generation = generationOf(file, username);
+			if (generation > latestGeneration) {
+				latest = file;
+				latestGeneration = generation;
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Deletes snapshots older than the given generation. Files that cannot be deleted yet
+	 * (e.g. still mapped on Windows) are left for a later write.
+	 */
+	private static void deleteOlderSnapshots(String directory, String username, long generation) {
+		for (File file : snapshotsOf(directory, username)) {
+			if (generationOf(file, username) < generation) {
+				file.delete();
+			}
+		}
+	}
+
+	private static List<File> snapshotsOf(String directory, String username) {
+		List<File> snapshots = new ArrayList<>();
+		File[] files = new File(directory).listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (generationOf(file, username) >= 0) {
+					snapshots.add(file);
+				}
+			}
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Returns the generation in a file name like {@code <username>.<generation>.snap}
+	 * (with the username encoded as for the journal),
+	 * or -1 if the file is not a snapshot of the user.
+	 */
+	private static long generationOf(File file, String username) {
+		String name = file.getName();
+		String prefix = TaskJournal.fileNameOf(username) + ".";
+		if (!name.startsWith(prefix) || !name.endsWith(EXTENSION)) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(name.substring(prefix.length(), name.length() - EXTENSION.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Properties;
+
+import models.User;
+
+/**
+ * Stores users in a properties file on this computer (username = password),
+ * as an offline stand-in for the "Users" tab of the Google Sheet.
+ *
+ * @author Labibah Zainab
+ */
+public class LocalUserRepository implements UserRepository {
+	/** default path of the users file */
+	public static final String DEFAULT_PATH = "config/local/users.properties";
+
+	/** the users file */
+	private final File file;
+
+	/**
+	 * Creates a repository storing users in {@value #DEFAULT_PATH}.
+	 */
+	public LocalUserRepository() {
+		this(DEFAULT_PATH);
+	}
+
+	/**
+	 * Creates a repository storing users in the given file.
+	 *
+	 * @param path path of the users file
+	 */
+	public LocalUserRepository(String path) {
+		this.file = new File(path);
+	}
+
+	@Override
+	public synchronized ArrayList<User> loadUsers() {
+		ArrayList<User> users = new ArrayList<>();
+		Properties props = readUsers();
+		for (String username : props.stringPropertyNames()) {
+			users.add(new User(username, props.getProperty(username)));
+		}
+		return users;
+	}
+
+	@Override
+	public synchronized void saveUser(User user) {
+		Properties props = readUsers();
+		props.setProperty(user.getUsername(), user.getPassword());
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs(); // ensure directory exists
+		}
+		try (FileOutputStream fos = new FileOutputStream(file)) {
+			props.store(fos, "Study Planner users");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private Properties readUsers() {
+		Properties props = new Properties();
+		if (file.exists()) {
+			try (FileInputStream fis = new FileInputStream(file)) {
+				props.load(fis);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return props;
+	}
+}
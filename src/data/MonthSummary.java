@@ -0,0 +1,124 @@
+package data;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.PriorityLevel;
+import models.Task;
+
+/**
+ * A {@code MonthSummary} holds the tasks due on each day of one month, split into pending
+ * and completed tasks, and the number of pending tasks per priority level.
+ * <p>
+ * It is built by {@code TaskManager} in one pass over the deadline index, so a calendar grid
+ * does not query the task list once per day cell. A summary is a snapshot: it belongs to the
+ * version of the task list it was built from and is not changed afterwards.
+ *
+ * @author Labibah Zainab
+ */
+public class MonthSummary {
+	/** the month summarized */
+	private final YearMonth month;
+
+	/** version of the task list the summary was built from */
+	private final long version;
+
+	/** pending tasks due on each day, index 0 is the 1st */
+	private final ArrayList<ArrayList<Task>> pendingTasks;
+
+	/** completed tasks due on each day, index 0 is the 1st */
+	private final ArrayList<ArrayList<Task>> completedTasks;
+
+	/** number of pending tasks per day and priority level */
+	private final int[][] pendingCounts;
+
+	/**
+	 * Creates an empty summary, filled by {@code TaskManager}.
+	 *
+	 * @param month the month summarized
+	 * @param version version of the task list the summary is built from
+	 */
+	MonthSummary(YearMonth month, long version) {
+		this.month = month;
+		this.version = version;
+		int days = month.lengthOfMonth();
+		this.pendingTasks = new ArrayList<>(days);
+		this.completedTasks = new ArrayList<>(days);
+		for (int day = 1; day <= days; day++) {
+			pendingTasks.add(new ArrayList<>());
+			completedTasks.add(new ArrayList<>());
+		}
+		this.pendingCounts = new int[days][PriorityLevel.values().length];
+	}
+
+	/**
+	 * Adds a task due in this month.
+	 *
+	 * @param task the task, pending or completed
+	 */
+	void add(Task task) {
+		int index = task.getDeadline().getDayOfMonth() - 1;
+		if (task.isCompleted()) {
+			completedTasks.get(index).add(task);
+		}
+		else {
+			pendingTasks.get(index).add(task);
+			pendingCounts[index][task.getPriorityLevel().ordinal()]++;
+		}
+	}
+
+	public YearMonth getMonth() {
+		return month;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the pending tasks due on the given day, in task list order.
+	 *
+	 * @param day the day of the month
+	 * @return the tasks (read-only)
+	 */
+	public List<Task> getPendingTasks(int day) {
+		return Collections.unmodifiableList(pendingTasks.get(day - 1));
+	}
+
+	/**
+	 * Returns the completed tasks due on the given day, in task list order.
+	 *
+	 * @param day the day of the month
+	 * @return the tasks (read-only)
+	 */
+	public List<Task> getCompletedTasks(int day) {
+		return Collections.unmodifiableList(completedTasks.get(day - 1));
+	}
+
+	/**
+	 * Returns the number of pending tasks of the given priority due on the given day.
+	 *
+	 * @param day the day of the month
+	 * @param priorityLevel the priority level
+	 * @return the number of tasks
+	 */
+	public int getPendingCount(int day, PriorityLevel priorityLevel) {
+		return pendingCounts[day - 1][priorityLevel.ordinal()];
+	}
+
+	/**
+	 * Returns the number of pending tasks of the given priority due in the month.
+	 *
+	 * @param priorityLevel the priority level
+	 * @return the number of tasks
+	 */
+	public int getPendingCount(PriorityLevel priorityLevel) {
+		int count = 0;
+		for (int[] counts : pendingCounts) {
+			count += counts[priorityLevel.ordinal()];
+		}
+		return count;
+	}
+}
@@ -0,0 +1,123 @@
+package data;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * The {@code PersistenceExecutor} saves task changes off the event dispatch thread, so buttons
+ * and menu items that save (sorting, "Save now") do not freeze the window for the round trip
+ * to the task repository.
+ * <p>
+ * Saves run on virtual threads, one at a time. Requests for a user that arrive while a save of
+ * that user is waiting to start join it instead of queuing another one, so at most one save per
+ * user is running and at most one is waiting; the waiting one picks up every change made before
+ * it starts. The background {@code JournalFlusher} saves through here too, and waits for the
+ * user's saves on logout. A save that still runs after another user logged in saves nothing.
+ *
+ * @author Labibah Zainab
+ */
+public class PersistenceExecutor {
+	/** runs every save on its own virtual thread */
+	private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+			Thread.ofVirtual().name("persistence-", 0).factory());
+
+	/** lets one save run at a time; saves waiting for it can still be joined */
+	private static final ReentrantLock saveLock = new ReentrantLock();
+
+	/** the save waiting to start, by username */
+	private static final HashMap<String, CompletableFuture<Boolean>> waitingSaves = new HashMap<>();
+
+	/** the last save requested that has not finished yet (waiting or running), by username */
+	private static final HashMap<String, CompletableFuture<Boolean>> unfinishedSaves = new HashMap<>();
+
+	/**
+	 * Saves the user's pending task changes in the background, joining a save of the same user that
+	 * has not started yet.
+	 *
+	 * @param username the username of the user
+	 * @return completes with true once the changes are saved (or there were none),
+	 *         false if saving failed; the changes are then kept for the next save
+	 */
+	public static synchronized CompletableFuture<Boolean> requestSave(String username) {
+		CompletableFuture<Boolean> waiting = waitingSaves.get(username);
+		if (waiting != null) {
+			return waiting;
+		}
+		CompletableFuture<Boolean> save = new CompletableFuture<>();
+		waitingSaves.put(username, save);
+		unfinishedSaves.put(username, save);
+		save.whenComplete((saved, error) -> {
+			synchronized (PersistenceExecutor.class) {
+				unfinishedSaves.remove(username, save);
+			}
+		});
+		executor.execute(() -> runSave(username, save));
+		return save;
+	}
+
+	/**
+	 * Waits until every save requested for the user so far has finished, e.g. on logout, so no save
+	 * of the user is still running when the next user's tasks are loaded.
+	 * Saves run one at a time, so waiting for the last one requested is enough.
+	 *
+	 * @param username the username of the user
+	 * @param timeoutMillis the longest time to wait
+	 * @return true if no save of the user is left, false if the wait timed out
+	 */
+	public static boolean awaitSaves(String username, long timeoutMillis) {
+		CompletableFuture<Boolean> last;
+		synchronized (PersistenceExecutor.class) {
+			last = unfinishedSaves.get(username);
+		}
+		if (last == null) {
+			return true;
+		}
+		try {
+			last.get(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (ExecutionException e) {
+			return true; // the save is over, its error was reported
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Saves the user's pending task changes in the background and tells the caller on the
+	 * event dispatch thread when done, e.g. to show the result.
+	 *
+	 * @param username the username of the user
+	 * @param onDone called on the event dispatch thread with true if the changes were saved
+	 */
+	public static void requestSave(String username, Consumer<Boolean> onDone) {
+		requestSave(username).thenAcceptAsync(onDone, SwingUtilities::invokeLater);
+	}
+
+	private static void runSave(String username, CompletableFuture<Boolean> save) {
+		saveLock.lock();
+		try {
+			// from now on, new requests need a save of their own
+			synchronized (PersistenceExecutor.class) {
+				waitingSaves.remove(username, save);
+			}
+			save.complete(TaskManager.saveTasksForUser(username));
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+			save.complete(false);
+		} finally {
+			saveLock.unlock();
+		}
+	}
+}
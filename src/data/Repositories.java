@@ -0,0 +1,69 @@
+package data;
+
+/**
+ * The {@code Repositories} class holds the task and user repositories the app uses.
+ * <p>
+ * The backend is chosen at startup with the system property {@value #STORAGE_PROPERTY}:
+ * {@value #SHEETS} (default) stores everything in the Google Sheet, {@value #LOCAL} stores
+ * everything in files on this computer, e.g.
+ * <pre>
+ * java -Dstudyplanner.storage=local -jar StudyPlanner.jar
+ * </pre>
+ * Tools such as benchmarks can also install their own repositories with {@link #use}.
+ *
+ * @author Labibah Zainab
+ */
+public class Repositories {
+	/** system property selecting the storage backend */
+	public static final String STORAGE_PROPERTY = "studyplanner.storage";
+
+	/** store tasks and users in the Google Sheet */
+	public static final String SHEETS = "sheets";
+
+	/** store tasks and users in local files */
+	public static final String LOCAL = "local";
+
+	private static volatile TaskRepository taskRepository;
+	private static volatile UserRepository userRepository;
+
+	static {
+		configure(System.getProperty(STORAGE_PROPERTY, SHEETS));
+	}
+
+	/**
+	 * Selects the repositories for the named backend.
+	 * Unknown names fall back to {@value #SHEETS}.
+	 *
+	 * @param storage {@value #SHEETS} or {@value #LOCAL}
+	 */
+	public static synchronized void configure(String storage) {
+		if (LOCAL.equalsIgnoreCase(storage)) {
+			use(new LocalTaskRepository(), new LocalUserRepository());
+		}
+		else {
+			if (!SHEETS.equalsIgnoreCase(storage)) {
+				System.out.println("Unknown storage '" + storage + "', using " + SHEETS);
+			}
+			use(new SheetsTaskRepository(), new SheetsUserRepository());
+		}
+	}
+
+	/**
+	 * Installs the given repositories.
+	 *
+	 * @param tasks the repository for tasks
+	 * @param users the repository for users
+	 */
+	public static synchronized void use(TaskRepository tasks, UserRepository users) {
+		taskRepository = tasks;
+		userRepository = users;
+	}
+
+	public static TaskRepository getTaskRepository() {
+		return taskRepository;
+	}
+
+	public static UserRepository getUserRepository() {
+		return userRepository;
+	}
+}
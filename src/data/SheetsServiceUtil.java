@@ -6,12 +6,21 @@ import java.io.InputStreamReader;
 import java.security.GeneralSecurityException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
 import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
@@ -23,7 +32,14 @@ import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.SheetsScopes;
-import com.google.api.services.sheets.v4.model.ClearValuesRequest;
+import com.google.api.services.sheets.v4.model.AddSheetRequest;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchClearValuesRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.Request;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
 import com.google.api.services.sheets.v4.model.ValueRange;
 
 import models.PriorityLevel;
@@ -46,10 +62,99 @@ public class SheetsServiceUtil {
 	private static final String CREDENTIALS_FILE_PATH = "/credentials.json";
 	
 	private static final String SPREADSHEET_ID = "1iZvc_XNtGPA7FtMmm1Jhg-CA7Vb6-zIP-UCsyp1ivBM";
+	
+	/**
+	 * title of the former shared tab
+	 */
+	private static final String LEGACY_TAB = "Tasks";
+	
+	/**
+	 * task rows of the former shared tab holding every user's tasks, without the header row;
+	 * only read to move users to their own tab. Columns are
+	 * username, title, description, priority, deadline, completed, id
+	 */
+	private static final String LEGACY_TASKS_RANGE = LEGACY_TAB + "!A2:G";
+	
+	/**
+	 * title of the tab listing which tab holds each user's tasks; columns are username, tab title.
+	 * Cell C2 records whether the former shared tab was emptied (see {@code LEGACY_STATE_CELL}).
+	 */
+	private static final String DIRECTORY_TAB = "Directory";
+	
+	/**
+	 * rows of the directory tab without the header row, including the legacy state column
+	 */
+	private static final String DIRECTORY_RANGE = DIRECTORY_TAB + "!A2:C";
+	
+	/**
+	 * cell holding {@code LEGACY_MIGRATED} once every user was moved out of the former shared tab,
+	 * so it is no longer read when a new user is looked up
+	 */
+	private static final String LEGACY_STATE_CELL = DIRECTORY_TAB + "!C2";
+	
+	/**
+	 * value of {@code LEGACY_STATE_CELL} once the former shared tab was emptied
+	 */
+	private static final String LEGACY_MIGRATED = "migrated";
+	
+	/**
+	 * start of the title of each user's task tab, followed by the username
+	 */
+	private static final String PARTITION_PREFIX = "Tasks-";
+	
+	/**
+	 * header row of a user's task tab; the rows below have the same columns as the former shared tab
+	 */
+	private static final List<Object> TASKS_HEADER = List.of("Username", "Title", "Description", "Priority", "Deadline", "Completed", "Id");
+	
+	/**
+	 * row number of the first task row (row 1 is the header)
+	 */
+	private static final int FIRST_TASK_ROW = 2;
+	
+	/**
+	 * title of the tab holding each user's tasks, by username; null until the directory tab was read.
+	 * Read and replaced under {@code partitionLock}
+	 */
+	private static HashMap<String, String> partitionByUser;
+	
+	/**
+	 * guards {@code partitionByUser} only, so looking up a known user never waits for a network call
+	 */
+	private static final Object partitionLock = new Object();
+	
+	/**
+	 * held while the directory, the tab titles or the former shared tab are read or changed,
+	 * so only one thread at a time moves users to their own tab
+	 */
+	private static final Object migrationLock = new Object();
+	
+	/**
+	 * titles of all tabs of the spreadsheet; null until read with the directory, then kept up to date
+	 * with the tabs added here (and read again if adding a tab fails)
+	 */
+	private static HashSet<String> sheetTitles;
+	
+	/**
+	 * true once the directory says every user was moved out of the former shared tab
+	 */
+	private static boolean legacyMigrated;
+	
+	/**
+	 * row positions of each user's tasks, by username. An entry is locked while its user's
+	 * rows are read or written, so a read for one user never changes the rows another user's save writes to
+	 */
+	private static final HashMap<String, TaskRows> taskRowsByUser = new HashMap<>();
+	
+	/**
+	 * shared Sheets client, created on first use and reused by every call
+	 */
+	private static volatile Sheets sheetsService;
+	
 	/**
      * Loads credentials and authorizes the app using OAuth 2.0.
      */
-	private static com.google.api.client.auth.oauth2.Credential getCredentials
+	private static Credential getCredentials
 		(final NetHttpTransport HTTP_TRANSPORT) throws IOException{
 		
 		InputStream inputStream = SheetsServiceUtil.class.getResourceAsStream(CREDENTIALS_FILE_PATH);
@@ -73,14 +178,31 @@ public class SheetsServiceUtil {
 	
 	 /**
      * Returns an authorized Sheets API client service.
+     * <p>
+     * The client (HTTP transport, client secrets, token store and OAuth flow) is built only once,
+     * on the first call, and shared afterwards. The credential refreshes an expired access token
+     * by itself when a request is sent.
      */
 	public static Sheets getSheetsService() throws IOException, GeneralSecurityException{
-		
-		final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-		
-		return new Sheets.Builder(HTTP_TRANSPORT, JSON_FACTORY, getCredentials(HTTP_TRANSPORT))
-				.setApplicationName(APPLICATION_NAME)
-				.build();
+		Sheets service = sheetsService;
+		if (service == null) {
+			synchronized (SheetsServiceUtil.class) {
+				if (sheetsService == null) {
+					long start = System.nanoTime();
+					try {
+						final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
+						Credential credential = getCredentials(HTTP_TRANSPORT);
+						sheetsService = new Sheets.Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
+								.setApplicationName(APPLICATION_NAME)
+								.build();
+					} finally {
+						CallTimings.record("authorizeSheets", start);
+					}
+				}
+				return sheetsService;
+			}
+		}
+		return service;
 	}
 	
 	/**
@@ -89,6 +211,7 @@ public class SheetsServiceUtil {
      */
 	public static ArrayList<User> readUsersFromSheets () {
 		ArrayList<User> users = new ArrayList<>();	
+		long start = System.nanoTime();
 		try {
 			Sheets service = getSheetsService();
 			// sheet Users has 2 columns : Username, Password
@@ -110,7 +233,9 @@ public class SheetsServiceUtil {
 			}
 			
 		} catch (Exception e) {
-			e.printStackTrace();		
+			e.printStackTrace();
+		} finally {
+			CallTimings.record("readUsersFromSheets", start);
 		}
 		
 		return users;
@@ -121,6 +246,7 @@ public class SheetsServiceUtil {
      * @param user the new user to add
      */
 	public static void writeUserToSheet(User user) {
+		long start = System.nanoTime();
 		try {
 			Sheets service = getSheetsService();
 			
@@ -137,111 +263,703 @@ public class SheetsServiceUtil {
 			
 		} catch (Exception e) {
 			e.printStackTrace();
+		} finally {
+			CallTimings.record("writeUserToSheet", start);
 		}
 	}
 	
-	 /**
-     * Saves all tasks of the current user to the Google Sheet.
-     * Clears any previous task entries of that user from the sheet.
-     * 
-     * @param tasks all current tasks of the user
-     * @param username the username used to name the file
-     */
-	public static void writeTasksToSheet(ArrayList<Task> tasks, String username) {
-		try{
-			Sheets service = getSheetsService();
-			String dataRange = "Tasks!A2:F";
-			
-			// clear previous tasks
-			ValueRange response = service.spreadsheets().values().get(SPREADSHEET_ID, dataRange).execute();
-			List<List<Object>> allRows = response.getValues();
-			
-			if(allRows == null) {
-				allRows = new ArrayList<>();
-			}
-			 
-			// filter out current user's tasks
-			List<List<Object>> remainingRows = allRows.stream()
-					.filter(row -> row.size() > 0 && !row.get(0).toString().equals(username))
-					.collect(Collectors.toList());
- 			
-			// add updated/new tasks
-			for(Task task : tasks) {
-				List<Object> row = List.of(
-						username,
-						task.getTitle(),
-						task.getDescription(),
-						task.getPriorityLevel().name(),
-						task.getDeadline().toString(),
-						String.valueOf(task.isCompleted())
-						);
-				remainingRows.add(row);
+	/**
+	 * Saves the given changes of a user's tasks to the user's own task tab of the Google Sheet.
+	 * <p>
+	 * Each task row is addressed by the task's id (column G), so only the rows of added,
+	 * changed or deleted tasks are written, in at most two requests: one batch update for
+	 * rows whose position is known, and one append for new rows. Other users' tabs are never
+	 * read or written. Rows of deleted tasks keep only the username and are reused for new tasks.
+	 * If the list was sorted, the user's own rows are rewritten in the new order.
+	 * <p>
+	 * Before rows are overwritten, their ids are checked against the positions remembered from the
+	 * last read; if the tab was changed meanwhile (e.g. from another device), it is read again first.
+	 *
+	 * @param changes the changes since the last save
+	 * @param username the username of the user
+	 * @return true if the changes were saved, false otherwise
+	 */
+	public static boolean syncTasksToSheet(TaskChangeSet changes, String username) {
+		long start = System.nanoTime();
+		TaskRows rows = rowsOf(username);
+		synchronized (rows) {
+			try {
+				Sheets service = getSheetsService();
+				
+				if (rows.partition == null) {
+					// row positions of this user are not known yet
+					readTaskRows(service, username, rows, new ArrayList<>());
+				}
+				
+				// rows to overwrite, by row number (a row is written at most once per sync)
+				TreeMap<Integer, List<Object>> rowUpdates = new TreeMap<>();
+				ArrayList<Task> tasksToAppend = new ArrayList<>();
+				for (int attempt = 0; ; attempt++) {
+					HashMap<Integer, String> expectedIds = idsByRow(rows);
+					rowUpdates.clear();
+					tasksToAppend.clear();
+					planRowWrites(changes, username, rows, rowUpdates, tasksToAppend);
+					if (rowUpdates.isEmpty() || rowsHoldIds(service, username, rows.partition, expectedIds, rowUpdates.keySet())) {
+						break;
+					}
+					if (attempt > 0) {
+						throw new IOException("Task rows of " + username + " changed while saving");
+					}
+					// the rows were moved since they were read, so the remembered positions are stale
+					readTaskRows(service, username, rows, new ArrayList<>());
+				}
+				
+				if (!rowUpdates.isEmpty()) {
+					List<ValueRange> data = new ArrayList<>();
+					for (Map.Entry<Integer, List<Object>> entry : rowUpdates.entrySet()) {
+						data.add(new ValueRange()
+								.setRange(rowRange(rows.partition, entry.getKey()))
+								.setValues(List.of(entry.getValue())));
+					}
+					service.spreadsheets().values()
+						.batchUpdate(SPREADSHEET_ID, new BatchUpdateValuesRequest()
+								.setValueInputOption("RAW")
+								.setData(data))
+						.execute();
+				}
+				
+				if (!tasksToAppend.isEmpty()) {
+					List<List<Object>> newRows = new ArrayList<>();
+					for (Task task : tasksToAppend) {
+						newRows.add(toTaskRow(task, username));
+					}
+					AppendValuesResponse response = service.spreadsheets().values()
+						.append(SPREADSHEET_ID, tasksRange(rows.partition), new ValueRange().setValues(newRows)) // add after the last row
+						.setValueInputOption("RAW")
+						.execute();
+					
+					// remember where the new rows were written
+					int row = firstRowOf(response.getUpdates().getUpdatedRange());
+					for (Task task : tasksToAppend) {
+						rows.rowById.put(task.getId(), row++);
+					}
+				}
+				return true;
+				
+			} catch (Exception e){
+				e.printStackTrace();
+				// row positions may be out of date, re-read them on the next save
+				rows.partition = null;
+				return false;
+			} finally {
+				CallTimings.record("syncTasksToSheet", start);
 			}
+		}
+	}
+	
+	/**
+	 * Decides which rows the changes are written to, and updates the remembered row positions accordingly.
+	 * 
+	 * @param changes the changes since the last save
+	 * @param username the username of the user
+	 * @param rows the row positions of the user's tasks
+	 * @param rowUpdates receives the values to write, by row number
+	 * @param tasksToAppend receives the tasks that get a new row at the end of the tab
+	 */
+	private static void planRowWrites(TaskChangeSet changes, String username, TaskRows rows,
+			TreeMap<Integer, List<Object>> rowUpdates, ArrayList<Task> tasksToAppend) {
+		if (changes.isReordered()) {
+			// place the tasks in the new order on the rows the user already owns
+			TreeSet<Integer> ownedRows = new TreeSet<>(rows.rowById.values());
+			ownedRows.addAll(rows.freeRows);
+			rows.rowById.clear();
+			rows.freeRows.clear();
 			
-			// sort by names alphabetically
-			remainingRows.sort(Comparator.comparing(row -> row.get(0).toString()));
-			
-			// clear all data except header
-			service.spreadsheets().values()
-				.clear(SPREADSHEET_ID, "Tasks!A2:F", new ClearValuesRequest())
-				.execute();
-			
-			ValueRange newData = new ValueRange().setValues(remainingRows);
-			
-			service.spreadsheets().values()
-				.append(SPREADSHEET_ID, "Tasks!A2:F", newData)  
-				.setValueInputOption("RAW")
-				.execute();
-			
-		} catch (Exception e){
-			e.printStackTrace();
+			Iterator<Integer> owned = ownedRows.iterator();
+			for (Task task : changes.getNewOrder()) {
+				if (owned.hasNext()) {
+					int row = owned.next();
+					rows.rowById.put(task.getId(), row);
+					rowUpdates.put(row, toTaskRow(task, username));
+				}
+				else {
+					tasksToAppend.add(task);
+				}
+			}
+			while (owned.hasNext()) {
+				int row = owned.next();
+				rows.freeRows.add(row);
+				rowUpdates.put(row, toDeletedRow(username));
+			}
+			return;
+		}
+		
+		for (String id : changes.getDeletedTaskIds()) {
+			Integer row = rows.rowById.remove(id);
+			if (row != null) {
+				rows.freeRows.add(row);
+				rowUpdates.put(row, toDeletedRow(username));
+			}
+		}
+		for (Task task : changes.getChangedTasks()) {
+			Integer row = rows.rowById.get(task.getId());
+			if (row != null) {
+				rowUpdates.put(row, toTaskRow(task, username));
+			}
+			else {
+				tasksToAppend.add(task);
+			}
+		}
+		for (Task task : changes.getInsertedTasks()) {
+			// a task already in the tab (e.g. saved before the answer of an earlier save was lost) keeps its row
+			Integer row = rows.rowById.get(task.getId());
+			if (row == null) {
+				row = rows.freeRows.pollFirst();
+			}
+			if (row != null) {
+				rows.rowById.put(task.getId(), row);
+				rowUpdates.put(row, toTaskRow(task, username));
+			}
+			else {
+				tasksToAppend.add(task);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the id of the task each remembered row holds, by row number; rows holding no task map to "".
+	 */
+	private static HashMap<Integer, String> idsByRow(TaskRows rows) {
+		HashMap<Integer, String> ids = new HashMap<>();
+		for (Map.Entry<String, Integer> entry : rows.rowById.entrySet()) {
+			ids.put(entry.getValue(), entry.getKey());
+		}
+		for (int row : rows.freeRows) {
+			ids.put(row, "");
+		}
+		return ids;
+	}
+	
+	/**
+	 * Reads the given rows of the user's task tab and returns true if each of them still belongs to the user
+	 * and holds the expected task id ("" for a row without task), so overwriting them loses no other task.
+	 */
+	private static boolean rowsHoldIds(Sheets service, String username, String partition,
+			Map<Integer, String> expectedIds, Collection<Integer> rowNumbers) throws IOException {
+		List<String> ranges = new ArrayList<>();
+		for (int row : rowNumbers) {
+			ranges.add(rowRange(partition, row));
 		}
+		List<ValueRange> values = service.spreadsheets().values()
+			.batchGet(SPREADSHEET_ID)
+			.setRanges(ranges)
+			.execute()
+			.getValueRanges();
+		if (values == null || values.size() != ranges.size()) {
+			return false;
+		}
+		
+		Iterator<Integer> rowNumber = rowNumbers.iterator();
+		for (ValueRange range : values) {
+			String expected = expectedIds.get(rowNumber.next());
+			List<Object> row = range.getValues() == null || range.getValues().isEmpty() ? List.of() : range.getValues().get(0);
+			if (expected == null || row.isEmpty() || !row.get(0).toString().equals(username)) {
+				return false;
+			}
+			// same rule as when the rows are read: a row without deadline holds no task
+			String id = row.size() < 6 || row.get(4).toString().isBlank() ? "" : row.size() > 6 ? row.get(6).toString() : "";
+			if (!id.equals(expected)) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	/**
-     * Loads all tasks belonging to the given user from the Google Sheet.
+     * Loads all tasks belonging to the given user from the user's own task tab of the Google Sheet,
+     * so only this user's rows are transferred. A user whose tasks are still in the former shared
+     * "Tasks" tab is moved to a tab of their own first (once).
+     * Also remembers the row of each task, so later saves can write single rows.
+     * Rows saved before tasks had ids are given an id, which is written back to the sheet.
      *
      * @param username the username of the user
+     * @return the user's tasks, or {@code null} if the sheet could not be read
      */
 	public static ArrayList<Task> readTasksFromSheet(String username){
 		ArrayList<Task> tasks = new ArrayList<>();
+		long start = System.nanoTime();
+		TaskRows rows = rowsOf(username);
+		synchronized (rows) {
+			try {
+				readTaskRows(getSheetsService(), username, rows, tasks);
+			} catch (Exception e) {
+				e.printStackTrace();
+				return null;
+			} finally {
+				CallTimings.record("readTasksFromSheet", start);
+			}
+		}
+		
+		return tasks;
+	}
+	
+	/**
+	 * Returns the row positions of the user's tasks, creating an empty (not yet read) entry for a new user.
+	 */
+	private static TaskRows rowsOf(String username) {
+		synchronized (taskRowsByUser) {
+			return taskRowsByUser.computeIfAbsent(username, key -> new TaskRows());
+		}
+	}
+	
+	/**
+	 * Reads the user's task tab, remembers the row of each task and writes ids for rows that had none.
+	 * The caller holds the lock of {@code rows}; if anything fails, the positions stay marked as unknown.
+	 * 
+	 * @param service the Sheets client
+	 * @param username the username of the user
+	 * @param rows the row positions of the user's tasks
+	 * @param tasks list to which the user's tasks are added
+	 */
+	private static void readTaskRows(Sheets service, String username, TaskRows rows, ArrayList<Task> tasks) throws IOException {
+		rows.partition = null;
+		String partition = partitionOf(service, username);
+		ValueRange response = service.spreadsheets().values().get(SPREADSHEET_ID, tasksRange(partition)).execute();
+		
+		List<ValueRange> newIds = trackTaskRows(username, partition, response.getValues(), rows, tasks);
+		
+		if (!newIds.isEmpty()) {
+			service.spreadsheets().values()
+				.batchUpdate(SPREADSHEET_ID, new BatchUpdateValuesRequest()
+						.setValueInputOption("RAW")
+						.setData(newIds))
+				.execute();
+		}
+		rows.partition = partition;
+	}
+	
+	/**
+	 * Scans the rows of the user's task tab, collects the tasks of the given user and
+	 * remembers the row of each of them, as well as the user's rows that hold no task.
+	 * 
+	 * @param username the username of the user
+	 * @param partition the title of the user's task tab
+	 * @param values the rows of the tab, starting from the first row after the header (may be null)
+	 * @param rows receives the row positions of the user's tasks
+	 * @param tasks list to which the user's tasks are added
+	 * @return the id cells to write for rows that did not have an id yet
+	 */
+	private static List<ValueRange> trackTaskRows(String username, String partition, List<List<Object>> values, TaskRows rows, ArrayList<Task> tasks) {
+		rows.rowById.clear();
+		rows.freeRows.clear();
+		List<ValueRange> newIds = new ArrayList<>();
+		
+		// empty sheet
+		if (values == null) {
+			return newIds;
+		}
+		
+		for (int i = 0; i < values.size(); i++) {
+			List<Object> row = values.get(i);
+			int rowNumber = FIRST_TASK_ROW + i;
+			
+			// skip rows not for this user
+			if (row.isEmpty() || !row.get(0).toString().equals(username)) {
+				continue;
+			}
+			// rows of deleted tasks (and invalid rows) can be reused
+			if (row.size() < 6 || row.get(4).toString().isBlank()) {
+				rows.freeRows.add(rowNumber);
+				continue;
+			}
+			
+			String id = row.size() > 6 ? row.get(6).toString() : "";
+			if (id.isBlank()) {
+				id = UUID.randomUUID().toString();
+				newIds.add(new ValueRange()
+						.setRange(quote(partition) + "!G" + rowNumber)
+						.setValues(List.of(List.of(id))));
+			}
+			String title = row.get(1).toString();
+			String description = row.get(2).toString();
+			PriorityLevel priorityLevel = PriorityLevel.valueOf(row.get(3).toString());
+			LocalDate deadline = LocalDate.parse(row.get(4).toString());
+			Boolean completed = Boolean.parseBoolean(row.get(5).toString());
+			
+			Task task = new Task(id, title, description, deadline, priorityLevel);
+			task.setCompleted(completed);
+			tasks.add(task);
+			rows.rowById.put(id, rowNumber);
+		}
+		return newIds;
+	}
+	
+	/**
+	 * Moves every user whose tasks are still in the former shared "Tasks" tab to a tab of their own,
+	 * reading the shared tab only once. Users are otherwise moved one by one when their tasks are first
+	 * loaded; running this once (see {@code main.MigrateTaskPartitions}) moves everyone up front, and
+	 * records in the directory that the shared tab is empty, so it is never read again.
+	 * 
+	 * @return the number of users moved
+	 * @throws IOException if the sheet could not be read or written; users moved before the error stay moved
+	 * @throws GeneralSecurityException if the Sheets client could not be created
+	 */
+	public static int migrateTasksToPartitions() throws IOException, GeneralSecurityException {
+		long start = System.nanoTime();
 		try {
 			Sheets service = getSheetsService();
-			// skip header row
-			String range = "Tasks!A2:F";
-			ValueRange response = service.spreadsheets().values().get(SPREADSHEET_ID, range).execute();
-			List<List<Object>> values = response.getValues();
-			
-			// return empty list if no data found
-			if(values != null) {
-				
-				for(List<Object> row : values) {
-					
-					// skip invalid rows
-					if (row.size() < 6) {
-						continue;
+			synchronized (migrationLock) {
+				readDirectory(service);
+				List<List<Object>> legacyRows = legacyMigrated ? null : readLegacyRows(service);
+				if (legacyRows == null) {
+					markLegacyMigrated(service);
+					return 0;
+				}
+				LinkedHashSet<String> usernames = new LinkedHashSet<>();
+				for (List<Object> row : legacyRows) {
+					if (!row.isEmpty() && !row.get(0).toString().isBlank()) {
+						usernames.add(row.get(0).toString());
 					}
-					String usernameStr = row.get(0).toString();
-					
-					// skip rows not for this user
-					if (!usernameStr.equals(username)) {
-						continue;
+				}
+				int migrated = 0;
+				for (String username : usernames) {
+					if (knownPartition(username) == null) {
+						migratePartition(service, username, legacyRows);
+						migrated++;
 					}
-					String title = row.get(1).toString();
-					String description = row.get(2).toString();
-					PriorityLevel priorityLevel = PriorityLevel.valueOf(row.get(3).toString());
-					LocalDate deadline = LocalDate.parse(row.get(4).toString());
-					Boolean completed = Boolean.parseBoolean(row.get(5).toString());
-					
-					Task task = new Task(title, description, deadline, priorityLevel);
-					task.setCompleted(completed);
-					tasks.add(task);
+				}
+				markLegacyMigrated(service);
+				return migrated;
+			}
+		} finally {
+			CallTimings.record("migrateTasksToPartitions", start);
+		}
+	}
+	
+	/**
+	 * Returns the title of the tab holding the user's tasks, moving the user's tasks to a tab
+	 * of their own first if they are still in the former shared "Tasks" tab (or the user is new).
+	 * 
+	 * @param service the Sheets client
+	 * @param username the username of the user
+	 * @return the title of the user's task tab
+	 */
+	private static String partitionOf(Sheets service, String username) throws IOException {
+		String partition = knownPartition(username);
+		if (partition != null) {
+			return partition;
+		}
+		synchronized (migrationLock) {
+			// the user may have been moved from another device (or another thread) since the directory was read
+			readDirectory(service);
+			partition = knownPartition(username);
+			if (partition == null) {
+				// once the shared tab is empty, a new user costs no read of it
+				List<List<Object>> legacyRows = legacyMigrated ? null : readLegacyRows(service);
+				partition = migratePartition(service, username, legacyRows);
+				if (!legacyMigrated && !holdsOtherUsers(legacyRows, username)) {
+					markLegacyMigrated(service);
+				}
+			}
+			return partition;
+		}
+	}
+	
+	/**
+	 * Returns the title of the user's task tab as last read from the directory, or null if it is not known.
+	 */
+	private static String knownPartition(String username) {
+		synchronized (partitionLock) {
+			return partitionByUser == null ? null : partitionByUser.get(username);
+		}
+	}
+	
+	/**
+	 * Reads the rows of the former shared tab, or returns null if the spreadsheet has no such tab.
+	 */
+	private static List<List<Object>> readLegacyRows(Sheets service) throws IOException {
+		if (!sheetTitles.contains(LEGACY_TAB)) {
+			return null;
+		}
+		return service.spreadsheets().values().get(SPREADSHEET_ID, LEGACY_TASKS_RANGE).execute().getValues();
+	}
+	
+	/**
+	 * Returns true if any of the rows belongs to a user other than the given one.
+	 */
+	private static boolean holdsOtherUsers(List<List<Object>> rows, String username) {
+		if (rows != null) {
+			for (List<Object> row : rows) {
+				if (!row.isEmpty() && !row.get(0).toString().isBlank() && !row.get(0).toString().equals(username)) {
+					return true;
 				}
 			}
-		} catch (Exception e) {
-			e.printStackTrace();
+		}
+		return false;
+	}
+	
+	/**
+	 * Records in the directory that every user was moved out of the former shared tab.
+	 */
+	private static void markLegacyMigrated(Sheets service) throws IOException {
+		if (legacyMigrated) {
+			return;
+		}
+		service.spreadsheets().values()
+			.update(SPREADSHEET_ID, LEGACY_STATE_CELL, new ValueRange().setValues(List.of(List.of(LEGACY_MIGRATED))))
+			.setValueInputOption("RAW")
+			.execute();
+		legacyMigrated = true;
+	}
+	
+	/**
+	 * Reads the directory tab, creating it if it does not exist yet.
+	 * The titles of all tabs are read the first time only.
+	 */
+	private static void readDirectory(Sheets service) throws IOException {
+		if (sheetTitles == null) {
+			readSheetTitles(service);
 		}
 		
-		return tasks;
+		HashMap<String, String> partitions = new HashMap<>();
+		if (addSheet(service, DIRECTORY_TAB)) {
+			service.spreadsheets().values()
+				.update(SPREADSHEET_ID, DIRECTORY_TAB + "!A1", new ValueRange().setValues(List.of(List.of("Username", "Tab", "Legacy tab"))))
+				.setValueInputOption("RAW")
+				.execute();
+		}
+		else {
+			List<List<Object>> values = service.spreadsheets().values().get(SPREADSHEET_ID, DIRECTORY_RANGE).execute().getValues();
+			if (values != null) {
+				legacyMigrated = !values.isEmpty() && values.get(0).size() > 2 && values.get(0).get(2).toString().equals(LEGACY_MIGRATED);
+				for (List<Object> row : values) {
+					if (row.size() > 1 && !row.get(0).toString().isBlank()) {
+						// the first row of a username wins, as in the Users tab
+						partitions.putIfAbsent(row.get(0).toString(), row.get(1).toString());
+					}
+				}
+			}
+		}
+		synchronized (partitionLock) {
+			partitionByUser = partitions;
+		}
+	}
+	
+	/**
+	 * Moves the user to a task tab of their own: creates the tab (or reuses one with the same title, left by an
+	 * earlier attempt or created by another device), copies the user's rows from the former shared "Tasks" tab
+	 * into it, records it in the directory and clears the copied rows from the shared tab.
+	 * The directory row is written last but one, so if anything fails before it, the shared tab is still used next time.
+	 * 
+	 * @param service the Sheets client
+	 * @param username the username of the user
+	 * @param legacyRows the rows of the shared tab, starting from the first row after the header (may be null)
+	 * @return the title of the user's tab
+	 */
+	private static String migratePartition(Sheets service, String username, List<List<Object>> legacyRows) throws IOException {
+		String partition = partitionTitle(username);
+		
+		List<List<Object>> rows = new ArrayList<>();
+		List<String> copiedRanges = new ArrayList<>();
+		if (legacyRows != null) {
+			for (int i = 0; i < legacyRows.size(); i++) {
+				List<Object> row = legacyRows.get(i);
+				if (row.isEmpty() || !row.get(0).toString().equals(username)) {
+					continue;
+				}
+				int rowNumber = FIRST_TASK_ROW + i;
+				copiedRanges.add(LEGACY_TAB + "!A" + rowNumber + ":G" + rowNumber);
+				// rows of deleted tasks are not copied
+				if (row.size() >= 6 && !row.get(4).toString().isBlank()) {
+					rows.add(row);
+				}
+			}
+		}
+		
+		if (addSheet(service, partition)) {
+			List<List<Object>> values = new ArrayList<>();
+			values.add(TASKS_HEADER);
+			values.addAll(rows);
+			service.spreadsheets().values()
+				.update(SPREADSHEET_ID, quote(partition) + "!A1", new ValueRange().setValues(values))
+				.setValueInputOption("RAW")
+				.execute();
+		}
+		else {
+			appendMissingRows(service, partition, username, rows);
+		}
+		
+		// another device may have moved the user meanwhile; its directory row then comes first and wins
+		readDirectory(service);
+		String recorded = knownPartition(username);
+		if (recorded == null) {
+			// from here on the user's tasks are read from the tab
+			service.spreadsheets().values()
+				.append(SPREADSHEET_ID, DIRECTORY_TAB + "!A:B", new ValueRange().setValues(List.of(List.of(username, partition))))
+				.setValueInputOption("RAW")
+				.execute();
+			synchronized (partitionLock) {
+				partitionByUser.put(username, partition);
+			}
+			recorded = partition;
+		}
+		
+		if (!copiedRanges.isEmpty()) {
+			service.spreadsheets().values()
+				.batchClear(SPREADSHEET_ID, new BatchClearValuesRequest().setRanges(copiedRanges))
+				.execute();
+		}
+		return recorded;
+	}
+	
+	/**
+	 * Appends the user's rows that an existing task tab does not hold yet,
+	 * so moving a user again after a failed attempt does not copy rows twice.
+	 * Rows are matched by task id, or by their values if they have no id yet.
+	 */
+	private static void appendMissingRows(Sheets service, String partition, String username, List<List<Object>> rows) throws IOException {
+		List<List<Object>> existing = service.spreadsheets().values().get(SPREADSHEET_ID, tasksRange(partition)).execute().getValues();
+		HashSet<Object> present = new HashSet<>();
+		if (existing != null) {
+			for (List<Object> row : existing) {
+				if (!row.isEmpty() && row.get(0).toString().equals(username)) {
+					present.add(row.size() > 6 && !row.get(6).toString().isBlank() ? row.get(6).toString() : row);
+				}
+			}
+		}
+		List<List<Object>> missing = new ArrayList<>();
+		for (List<Object> row : rows) {
+			if (!present.contains(row.size() > 6 && !row.get(6).toString().isBlank() ? row.get(6).toString() : row)) {
+				missing.add(row);
+			}
+		}
+		if (!missing.isEmpty()) {
+			service.spreadsheets().values()
+				.append(SPREADSHEET_ID, tasksRange(partition), new ValueRange().setValues(missing))
+				.setValueInputOption("RAW")
+				.execute();
+		}
+	}
+	
+	/**
+	 * Returns the title of the task tab for the user, e.g. "Tasks-bob".
+	 * Characters not allowed in tab titles (or in the ranges built from them) are replaced; users whose
+	 * titles come out the same share the tab, which is safe since every row holds its username.
+	 */
+	private static String partitionTitle(String username) {
+		String title = PARTITION_PREFIX + username.replaceAll("[\\\\\\[\\]*?/:!']", "_");
+		return title.length() > 100 ? title.substring(0, 100) : title; // tab titles are limited to 100 characters
+	}
+	
+	/**
+	 * Adds a tab with the given title to the spreadsheet, unless a tab with that title exists.
+	 * 
+	 * @return true if the tab was added, false if it already existed
+	 */
+	private static boolean addSheet(Sheets service, String title) throws IOException {
+		if (sheetTitles.contains(title)) {
+			return false;
+		}
+		try {
+			service.spreadsheets()
+				.batchUpdate(SPREADSHEET_ID, new BatchUpdateSpreadsheetRequest().setRequests(List.of(
+						new Request().setAddSheet(new AddSheetRequest().setProperties(new SheetProperties().setTitle(title))))))
+				.execute();
+		} catch (IOException e) {
+			// another device may have added it since the titles were read
+			readSheetTitles(service);
+			if (sheetTitles.contains(title)) {
+				return false;
+			}
+			throw e;
+		}
+		sheetTitles.add(title);
+		return true;
+	}
+	
+	/**
+	 * Reads the titles of all tabs of the spreadsheet.
+	 */
+	private static void readSheetTitles(Sheets service) throws IOException {
+		HashSet<String> titles = new HashSet<>();
+		for (Sheet sheet : service.spreadsheets().get(SPREADSHEET_ID).setFields("sheets.properties.title").execute().getSheets()) {
+			titles.add(sheet.getProperties().getTitle());
+		}
+		sheetTitles = titles;
+	}
+	
+	/**
+	 * Returns the row values of a task: username, title, description, priority, deadline, completed, id.
+	 */
+	private static List<Object> toTaskRow(Task task, String username) {
+		return List.of(
+				username,
+				task.getTitle(),
+				task.getDescription(),
+				task.getPriorityLevel().name(),
+				task.getDeadline().toString(),
+				String.valueOf(task.isCompleted()),
+				task.getId()
+				);
+	}
+	
+	/**
+	 * Returns the row values for a row whose task was deleted: only the username is kept,
+	 * so the row stays part of the table and can be reused by the same user.
+	 */
+	private static List<Object> toDeletedRow(String username) {
+		return List.of(username, "", "", "", "", "", "");
+	}
+	
+	/**
+	 * Returns the A1 range of a whole task row, e.g. "'Tasks-bob'!A5:G5".
+	 */
+	private static String rowRange(String partition, int row) {
+		return quote(partition) + "!A" + row + ":G" + row;
+	}
+	
+	/**
+	 * Returns the A1 range of all task rows of a user's task tab, without the header row.
+	 */
+	private static String tasksRange(String partition) {
+		return quote(partition) + "!A2:G";
+	}
+	
+	/**
+	 * Quotes a tab title for use in an A1 range, e.g. 'Tasks-bob'.
+	 */
+	private static String quote(String title) {
+		return "'" + title.replace("'", "''") + "'";
+	}
+	
+	/**
+	 * Returns the first row number of an A1 range such as "'Tasks-bob'!A15:G17".
+	 */
+	private static int firstRowOf(String range) {
+		Matcher matcher = Pattern.compile("![A-Z]+(\\d+)").matcher(range);
+		if (!matcher.find()) {
+			throw new IllegalArgumentException("Unexpected range " + range);
+		}
+		return Integer.parseInt(matcher.group(1));
+	}
+	
+	/**
+	 * Row positions of one user's tasks in the user's task tab.
+	 */
+	private static class TaskRows {
+		/**
+		 * title of the user's task tab; null while the positions are not known (not read yet, or a save failed)
+		 */
+		private String partition;
+		
+		/**
+		 * sheet row of each task, by task id
+		 */
+		private final HashMap<String, Integer> rowById = new HashMap<>();
+		
+		/**
+		 * rows of the user that hold no task (the task was deleted); reused for new tasks
+		 */
+		private final TreeSet<Integer> freeRows = new TreeSet<>();
 	}
 }
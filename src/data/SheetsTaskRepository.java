@@ -0,0 +1,24 @@
+package data;
+
+import java.util.ArrayList;
+
+import models.Task;
+
+/**
+ * Stores tasks in the Google Sheet, one tab per user ("Tasks-" and the username), through {@code SheetsServiceUtil}.
+ * The "Directory" tab maps each username to its tab.
+ *
+ * @author Labibah Zainab
+ */
+public class SheetsTaskRepository implements TaskRepository {
+
+	@Override
+	public ArrayList<Task> loadTasks(String username) {
+		return SheetsServiceUtil.readTasksFromSheet(username);
+	}
+
+	@Override
+	public boolean saveChanges(TaskChangeSet changes, String username) {
+		return SheetsServiceUtil.syncTasksToSheet(changes, username);
+	}
+}
@@ -0,0 +1,23 @@
+package data;
+
+import java.util.ArrayList;
+
+import models.User;
+
+/**
+ * Stores users in the "Users" tab of the Google Sheet, through {@code SheetsServiceUtil}.
+ *
+ * @author Labibah Zainab
+ */
+public class SheetsUserRepository implements UserRepository {
+
+	@Override
+	public ArrayList<User> loadUsers() {
+		return SheetsServiceUtil.readUsersFromSheets();
+	}
+
+	@Override
+	public void saveUser(User user) {
+		SheetsServiceUtil.writeUserToSheet(user);
+	}
+}
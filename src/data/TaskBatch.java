@@ -0,0 +1,94 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import models.PriorityLevel;
+import models.Task;
+
+/**
+ * A {@code TaskBatch} collects several task changes to be applied together with
+ * {@link TaskManager#applyBatch(TaskBatch)}, e.g. completing or deleting all tasks of a day.
+ * <p>
+ * The changes are applied one after the other while holding the task manager's lock, so other changes
+ * are not mixed in, and the views are told with a single {@code BATCH} event instead of one per task.
+ * <pre>
+ * TaskBatch batch = new TaskBatch();
+ * for (Task task : TaskManager.getTasksOnDate(date)) {
+ *     batch.setComplete(task, true);
+ * }
+ * TaskManager.applyBatch(batch);
+ * </pre>
+ *
+ * @author Labibah Zainab
+ */
+public class TaskBatch {
+	/** the changes, in the order they are applied */
+	private final ArrayList<Runnable> changes = new ArrayList<>();
+
+	/**
+	 * Adds a new task.
+	 *
+	 * @param task the task to add
+	 * @return this batch
+	 */
+	public TaskBatch add(Task task) {
+		changes.add(() -> TaskManager.addTask(task));
+		return this;
+	}
+
+	/**
+	 * Marks a task as completed or not completed.
+	 *
+	 * @param task the task to mark
+	 * @param isCompleted true if the task is completed
+	 * @return this batch
+	 */
+	public TaskBatch setComplete(Task task, boolean isCompleted) {
+		changes.add(() -> TaskManager.setTaskComplete(task, isCompleted));
+		return this;
+	}
+
+	/**
+	 * Updates the fields of a task.
+	 *
+	 * @param task the task to edit
+	 * @param title the new title
+	 * @param description the new description
+	 * @param priorityLevel the new priority level
+	 * @param deadline the new deadline
+	 * @return this batch
+	 */
+	public TaskBatch edit(Task task, String title, String description, PriorityLevel priorityLevel, LocalDate deadline) {
+		changes.add(() -> TaskManager.editTask(task, title, description, priorityLevel, deadline));
+		return this;
+	}
+
+	/**
+	 * Deletes a task.
+	 *
+	 * @param task the task to delete
+	 * @return this batch
+	 */
+	public TaskBatch delete(Task task) {
+		changes.add(() -> TaskManager.deleteTask(task));
+		return this;
+	}
+
+	public int size() {
+		return changes.size();
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * Applies the changes in order. Called by {@code TaskManager} while holding its lock.
+	 */
+	void applyChanges() {
+		for (Runnable change : changes) {
+			change.run();
+		}
+	}
+}
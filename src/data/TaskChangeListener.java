@@ -0,0 +1,17 @@
+package data;
+
+/**
+ * Listener notified by {@code TaskManager} after the task list changed.
+ * Listeners are always called on the event dispatch thread.
+ *
+ * @author Labibah Zainab
+ */
+public interface TaskChangeListener {
+
+	/**
+	 * Called after a task was added, edited, completed or deleted, or the list was reloaded.
+	 *
+	 * @param event the change
+	 */
+	void taskChanged(TaskEvent event);
+}
@@ -0,0 +1,90 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import models.Task;
+
+/**
+ * A {@code TaskChangeSet} holds the unsaved changes of a user's task list:
+ * tasks that were added, tasks that were changed, ids of tasks that were deleted,
+ * and optionally the new order of the whole list after sorting.
+ * <p>
+ * Change sets are taken from {@code TaskManager} when saving, so only the
+ * affected rows are written to storage.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskChangeSet {
+	/** the user whose task list the changes were taken from */
+	private final String username;
+
+	/** tasks added since the last save */
+	private final LinkedHashSet<Task> insertedTasks;
+
+	/** tasks that already existed in storage and were edited since the last save */
+	private final LinkedHashSet<Task> changedTasks;
+
+	/** ids of tasks that existed in storage and were deleted since the last save */
+	private final LinkedHashSet<String> deletedTaskIds;
+
+	/** the whole task list in its new order, or {@code null} if the order did not change */
+	private final List<Task> newOrder;
+
+	/**
+	 * Creates a change set. The collections are copied.
+	 *
+	 * @param username the user whose task list the changes were taken from
+	 * @param insertedTasks tasks added since the last save
+	 * @param changedTasks tasks edited since the last save
+	 * @param deletedTaskIds ids of tasks deleted since the last save
+	 * @param newOrder the whole task list in its new order, or {@code null} if unchanged
+	 */
+	public TaskChangeSet(String username, Collection<Task> insertedTasks, Collection<Task> changedTasks,
+			Collection<String> deletedTaskIds, List<Task> newOrder) {
+		this.username = username;
+		this.insertedTasks = new LinkedHashSet<>(insertedTasks);
+		this.changedTasks = new LinkedHashSet<>(changedTasks);
+		this.deletedTaskIds = new LinkedHashSet<>(deletedTaskIds);
+		this.newOrder = newOrder == null ? null : new ArrayList<>(newOrder);
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public LinkedHashSet<Task> getInsertedTasks() {
+		return insertedTasks;
+	}
+
+	public LinkedHashSet<Task> getChangedTasks() {
+		return changedTasks;
+	}
+
+	public LinkedHashSet<String> getDeletedTaskIds() {
+		return deletedTaskIds;
+	}
+
+	/**
+	 * Returns the whole task list in its new order, or {@code null} if the list was not reordered.
+	 */
+	public List<Task> getNewOrder() {
+		return newOrder;
+	}
+
+	/**
+	 * Returns true if the list was reordered since the last save.
+	 */
+	public boolean isReordered() {
+		return newOrder != null;
+	}
+
+	/**
+	 * Returns true if there is nothing to save.
+	 */
+	public boolean isEmpty() {
+		return insertedTasks.isEmpty() && changedTasks.isEmpty() && deletedTaskIds.isEmpty() && newOrder == null;
+	}
+}
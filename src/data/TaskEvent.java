@@ -0,0 +1,112 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import models.Task;
+
+/**
+ * A {@code TaskEvent} describes one change to the task list, so views can update
+ * only the rows, dots and day cells showing the changed task instead of being rebuilt.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskEvent {
+	/** the kinds of changes */
+	public enum Type {
+		/** a task was added */
+		ADDED,
+		/** a task was edited or completed */
+		UPDATED,
+		/** a task was deleted */
+		DELETED,
+		/** the whole list changed (loaded, sorted or cleared); views should redraw all tasks */
+		RELOADED,
+		/** several tasks were added, edited or deleted at once; see {@link TaskEvent#getChanges()} */
+		BATCH
+	}
+
+	/** what happened */
+	private final Type type;
+
+	/** the changed task, {@code null} for {@code RELOADED} and {@code BATCH} */
+	private final Task task;
+
+	/** the task's deadline before the change, same as the current one unless it was edited */
+	private final LocalDate oldDeadline;
+
+	/** the single changes of a {@code BATCH}, in the order they were made; only this event otherwise */
+	private final List<TaskEvent> changes;
+
+	/**
+	 * Creates an event.
+	 *
+	 * @param type what happened
+	 * @param task the changed task, or {@code null} for {@code RELOADED}
+	 * @param oldDeadline the task's deadline before the change
+	 */
+	public TaskEvent(Type type, Task task, LocalDate oldDeadline) {
+		this.type = type;
+		this.task = task;
+		this.oldDeadline = oldDeadline;
+		this.changes = List.of(this);
+	}
+
+	/**
+	 * Creates a {@code BATCH} event for changes made together.
+	 *
+	 * @param changes the single changes, in the order they were made
+	 */
+	public TaskEvent(List<TaskEvent> changes) {
+		this.type = Type.BATCH;
+		this.task = null;
+		this.oldDeadline = null;
+		this.changes = List.copyOf(changes);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Task getTask() {
+		return task;
+	}
+
+	public LocalDate getOldDeadline() {
+		return oldDeadline;
+	}
+
+	/**
+	 * Returns the single changes of a {@code BATCH} event, or a list holding just this event
+	 * for the other types, so listeners can handle both the same way.
+	 *
+	 * @return the changes (read-only)
+	 */
+	public List<TaskEvent> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Returns the deadlines whose day cells show the change: the old and the new deadline
+	 * of the task, or of every task in a {@code BATCH}. Empty for {@code RELOADED}, which affects every day.
+	 *
+	 * @return the affected dates
+	 */
+	public LinkedHashSet<LocalDate> getAffectedDates() {
+		LinkedHashSet<LocalDate> dates = new LinkedHashSet<>();
+		if (type == Type.BATCH) {
+			for (TaskEvent change : changes) {
+				dates.addAll(change.getAffectedDates());
+			}
+			return dates;
+		}
+		if (oldDeadline != null) {
+			dates.add(oldDeadline);
+		}
+		if (task != null && task.getDeadline() != null) {
+			dates.add(task.getDeadline());
+		}
+		return dates;
+	}
+}
@@ -0,0 +1,146 @@
+package data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import models.PriorityLevel;
+import models.Task;
+
+/**
+ * A {@code TaskFilter} is a search query compiled into a single predicate:
+ * keyword, priority level and status filters are combined once, and each task is
+ * then checked in one pass without building intermediate lists.
+ * <p>
+ * Status windows (due today, due this week, ...) are computed from one date given
+ * when the filter is compiled, so every task is checked against the same day.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskFilter implements Predicate<Task> {
+	/** status indices, in the order of the status filter dropdown in {@code SearchView} */
+	public static final int ANY_STATUS = 0;
+	public static final int COMPLETED = 1;
+	public static final int OVERDUE = 2;
+	public static final int DUE_TODAY = 3;
+	public static final int DUE_TOMORROW = 4;
+	public static final int DUE_IN_3_DAYS = 5;
+	public static final int DUE_THIS_WEEK = 6;
+	public static final int DUE_NEXT_WEEK = 7;
+	public static final int DUE_IN_14_DAYS = 8;
+	public static final int DUE_IN_30_DAYS = 9;
+
+	/** the combined predicate */
+	private final Predicate<Task> predicate;
+
+	private TaskFilter(Predicate<Task> predicate) {
+		this.predicate = predicate;
+	}
+
+	/**
+	 * Compiles a filter from the search and filter options.
+	 *
+	 * @param keyword text to look for in title, description or status, case-insensitive;
+	 *                null, blank or "All" match every task
+	 * @param priorityLevel the priority level to keep, or null for all
+	 * @param statusIndex one of the status indices of this class
+	 * @param today the date status windows are computed from
+	 * @return the compiled filter
+	 */
+	public static TaskFilter compile(String keyword, PriorityLevel priorityLevel, int statusIndex, LocalDate today) {
+		Predicate<Task> predicate = task -> true;
+
+		if (priorityLevel != null) {
+			predicate = predicate.and(task -> task.getPriorityLevel() == priorityLevel);
+		}
+
+		Predicate<Task> status = statusPredicate(statusIndex, today);
+		if (status != null) {
+			predicate = predicate.and(status);
+		}
+
+		// keyword last, as it is the most expensive check
+		if (keyword != null && !keyword.isBlank() && !keyword.equalsIgnoreCase("All")) {
+			predicate = predicate.and(task -> containsIgnoreCase(task.getTitle(), keyword)
+					|| containsIgnoreCase(task.getDescription(), keyword)
+					|| containsIgnoreCase(task.getStatus(today), keyword));
+		}
+		return new TaskFilter(predicate);
+	}
+
+	@Override
+	public boolean test(Task task) {
+		return predicate.test(task);
+	}
+
+	/**
+	 * Returns the tasks matching this filter, in list order.
+	 *
+	 * @param tasks the tasks to filter
+	 * @return the matching tasks
+	 */
+	public ArrayList<Task> filter(List<Task> tasks) {
+		ArrayList<Task> matches = new ArrayList<>();
+		for (Task task : tasks) {
+			if (predicate.test(task)) {
+				matches.add(task);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the predicate for a status index, or null if the status is not filtered.
+	 */
+	private static Predicate<Task> statusPredicate(int statusIndex, LocalDate today) {
+		switch (statusIndex) {
+		case COMPLETED:
+			return task -> task.isCompleted();
+		case OVERDUE:
+			return task -> !task.isCompleted() && task.getDeadline().isBefore(today);
+		case DUE_TODAY:
+			return pendingBetween(today, today);
+		case DUE_TOMORROW:
+			return pendingBetween(today.plusDays(1), today.plusDays(1));
+		case DUE_IN_3_DAYS:
+			return pendingBetween(today, today.plusDays(3));
+		case DUE_THIS_WEEK:
+			LocalDate startOfThisWeek = today.with(DayOfWeek.MONDAY);
+			return pendingBetween(startOfThisWeek, startOfThisWeek.plusDays(6));
+		case DUE_NEXT_WEEK:
+			LocalDate startOfNextWeek = today.with(DayOfWeek.SUNDAY).plusDays(1);
+			return pendingBetween(startOfNextWeek, startOfNextWeek.plusDays(6));
+		case DUE_IN_14_DAYS:
+			return pendingBetween(today, today.plusDays(14));
+		case DUE_IN_30_DAYS:
+			return pendingBetween(today, today.plusDays(30));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Matches incomplete tasks due between {@code from} and {@code to}, both inclusive.
+	 */
+	private static Predicate<Task> pendingBetween(LocalDate from, LocalDate to) {
+		return task -> !task.isCompleted() && !task.getDeadline().isBefore(from) && !task.getDeadline().isAfter(to);
+	}
+
+	/**
+	 * Returns true if {@code text} contains {@code keyword}, ignoring case, without copying either string.
+	 */
+	static boolean containsIgnoreCase(String text, String keyword) {
+		if (text == null) {
+			return false;
+		}
+		int last = text.length() - keyword.length();
+		for (int i = 0; i <= last; i++) {
+			if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,320 @@
+package data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.PriorityLevel;
+import models.Task;
+
+/**
+ * The {@code TaskJournal} class keeps an append-only log of every change made to the
+ * logged in user's task list, written to {@code config/journal/<username>.log} as soon as
+ * the change happens. Changes that were not saved to the Google Sheet yet survive a crash
+ * and are replayed the next time the user's tasks are loaded.
+ * <p>
+ * Before a save, the current log is sealed (moved to {@code <username>.log.saving}) and a new
+ * log is started, so changes made while saving are never lost. The sealed log is deleted once
+ * the save succeeds.
+ * <p>
+ * Each line is one entry: a type ({@code ADD}, {@code UPDATE}, {@code DELETE} or {@code ORDER})
+ * followed by tab-separated, escaped fields.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskJournal {
+	private static final String JOURNAL_DIR = "config/journal";
+
+	public static final String ADD = "ADD";
+	public static final String UPDATE = "UPDATE";
+	public static final String DELETE = "DELETE";
+	public static final String ORDER = "ORDER";
+
+	/** log of changes not yet sealed for saving */
+	private static File journalFile;
+
+	/** log of changes being saved (or that failed to save) */
+	private static File sealedFile;
+
+	/** writer appending to {@code journalFile}, null if no journal is open */
+	private static BufferedWriter writer;
+
+	/**
+	 * Opens the journal of the given user, creating it if needed.
+	 * Any previously open journal is closed first.
+	 *
+	 * @param username the username of the user
+	 */
+	public static synchronized void open(String username) {
+		close();
+		try {
+			new File(JOURNAL_DIR).mkdirs(); // ensure directory exists
+			moveLegacyLog(username, ".log");
+			moveLegacyLog(username, ".log.saving");
+			journalFile = new File(JOURNAL_DIR, fileNameOf(username) + ".log");
+			sealedFile = new File(JOURNAL_DIR, fileNameOf(username) + ".log.saving");
+			writer = openWriter();
+		} catch (IOException e) {
+			e.printStackTrace();
+			writer = null;
+		}
+	}
+
+	/**
+	 * Returns the username in a form that is safe to use as (the start of) a file name.
+	 * Lower-case letters, digits and {@code . - _} are kept, so most usernames are unchanged; an upper-case
+	 * letter becomes {@code ~} and the lower-case letter, and every other character (including path separators
+	 * and {@code *}) is percent-encoded. Two usernames therefore never share a file, even on file systems
+	 * that ignore case, such as those of Windows and macOS.
+	 *
+	 * @param username the username of the user
+	 * @return the encoded username
+	 */
+	static String fileNameOf(String username) {
+		String encoded = URLEncoder.encode(username, StandardCharsets.UTF_8).replace("*", "%2A");
+		StringBuilder name = new StringBuilder(encoded.length());
+		for (int i = 0; i < encoded.length(); i++) {
+			char c = encoded.charAt(i);
+			if (c == '%') {
+				// keep the upper-case hex digits of an escape as they are
+				name.append(encoded, i, i + 3);
+				i += 2;
+			}
+			else if (c >= 'A' && c <= 'Z') {
+				name.append('~').append(Character.toLowerCase(c));
+			}
+			else {
+				name.append(c);
+			}
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Renames a log written before upper-case letters and {@code *} were encoded in file names,
+	 * so the changes in it are still replayed.
+	 */
+	private static void moveLegacyLog(String username, String suffix) {
+		String legacyName = URLEncoder.encode(username, StandardCharsets.UTF_8) + suffix;
+		File legacy = new File(JOURNAL_DIR, legacyName);
+		File current = new File(JOURNAL_DIR, fileNameOf(username) + suffix);
+		if (!legacyName.equals(current.getName()) && legacy.exists() && !current.exists() && !legacy.renameTo(current)) {
+			System.out.println("Failed to rename " + legacy);
+		}
+	}
+
+	/**
+	 * Closes the open journal. Entries already written stay on disk.
+	 */
+	public static synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			writer = null;
+		}
+	}
+
+	/**
+	 * Returns true if a journal is open.
+	 */
+	public static synchronized boolean isOpen() {
+		return writer != null;
+	}
+
+	/**
+	 * Records that a task was added.
+	 */
+	public static void recordAdd(Task task) {
+		append(ADD, encodeTask(task));
+	}
+
+	/**
+	 * Records the new state of an edited task.
+	 */
+	public static void recordUpdate(Task task) {
+		append(UPDATE, encodeTask(task));
+	}
+
+	/**
+	 * Records that a task was deleted.
+	 */
+	public static void recordDelete(Task task) {
+		append(DELETE, new String[] { task.getId() });
+	}
+
+	/**
+	 * Records the new order of the task list after sorting.
+	 */
+	public static void recordOrder(List<Task> tasks) {
+		String[] ids = new String[tasks.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = tasks.get(i).getId();
+		}
+		append(ORDER, ids);
+	}
+
+	/**
+	 * Moves the current entries to the sealed log and starts a new, empty log.
+	 * If an earlier sealed log is still there (its save failed), the entries are added to it.
+	 */
+	public static synchronized void seal() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+			if (sealedFile.exists()) {
+				Files.write(sealedFile.toPath(), Files.readAllBytes(journalFile.toPath()), StandardOpenOption.APPEND);
+				Files.delete(journalFile.toPath());
+			}
+			else {
+				Files.move(journalFile.toPath(), sealedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			writer = openWriter();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Deletes the given user's sealed log after its changes were saved.
+	 * The user is named explicitly, so a save finishing after another user's journal
+	 * was opened never deletes that user's log.
+	 *
+	 * @param username the username of the user whose changes were saved
+	 */
+	public static synchronized void discardSealed(String username) {
+		File file = new File(JOURNAL_DIR, fileNameOf(username) + ".log.saving");
+		if (file.exists() && !file.delete()) {
+			System.out.println("Failed to delete " + file);
+		}
+	}
+
+	/**
+	 * Returns all entries of the open journal, oldest first (sealed entries before current ones).
+	 * Each entry is an array whose first element is the entry type.
+	 *
+	 * @return the journal entries, empty if there are none
+	 */
+	public static synchronized List<String[]> readEntries() {
+		List<String[]> entries = new ArrayList<>();
+		if (journalFile == null) {
+			return entries;
+		}
+		try {
+			if (writer != null) {
+				writer.flush();
+			}
+			for (File file : new File[] { sealedFile, journalFile }) {
+				if (!file.exists()) {
+					continue;
+				}
+				for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+					if (!line.isEmpty()) {
+						entries.add(decodeFields(line));
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return entries;
+	}
+
+	/**
+	 * Creates a task from the fields of an {@code ADD} or {@code UPDATE} entry.
+	 *
+	 * @param entry the journal entry
+	 * @return the task as it was when the entry was written
+	 */
+	public static Task decodeTask(String[] entry) {
+		Task task = new Task(entry[1], entry[2], entry[3], LocalDate.parse(entry[5]), PriorityLevel.valueOf(entry[4]));
+		task.setCompleted(Boolean.parseBoolean(entry[6]));
+		task.setCompletionDate(entry[7].isEmpty() ? null : LocalDate.parse(entry[7]));
+		return task;
+	}
+
+	/**
+	 * Appends one entry and flushes it to the file, so it survives a crash of the app.
+	 */
+	private static synchronized void append(String type, String[] fields) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.write(type);
+			for (String field : fields) {
+				writer.write('\t');
+				writer.write(escape(field));
+			}
+			writer.newLine();
+			writer.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static BufferedWriter openWriter() throws IOException {
+		return Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private static String[] encodeTask(Task task) {
+		return new String[] {
+				task.getId(),
+				task.getTitle(),
+				task.getDescription(),
+				task.getPriorityLevel().name(),
+				task.getDeadline().toString(),
+				String.valueOf(task.isCompleted()),
+				task.getCompletionDate() == null ? "" : task.getCompletionDate().toString()
+		};
+	}
+
+	/**
+	 * Escapes backslashes, tabs and line breaks so a field fits on one line between tabs.
+	 */
+	private static String escape(String field) {
+		return field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	/**
+	 * Splits a line at tabs and reverses {@link #escape(String)} on each field.
+	 */
+	private static String[] decodeFields(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '\t') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if (c == '\\' && i + 1 < line.length()) {
+				char next = line.charAt(++i);
+				switch (next) {
+				case 't': field.append('\t'); break;
+				case 'n': field.append('\n'); break;
+				case 'r': field.append('\r'); break;
+				default: field.append(next); break;
+				}
+			}
+			else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields.toArray(new String[0]);
+	}
+}
@@ -2,16 +2,31 @@ package data;
 
 import java.awt.Color;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import javax.swing.SwingUtilities;
+
+import models.AppClock;
 import models.PriorityLevel;
 import models.Task;
+import models.TaskStatus;
 
 /**
  * The {@code TaskManager} class provides static methods for managing the user's
@@ -27,6 +42,11 @@ public class TaskManager {
 	 */
 	private static ArrayList<Task> taskList = new ArrayList<Task>();
 	
+	/**
+	 * the tasks in {@code taskList} by id, so tasks are found without scanning the list
+	 */
+	private static HashMap<String, Task> tasksById = new HashMap<>();
+	
 	/**
 	 * the most recent list of tasks filtered by search or filter operations in the current user session
 	 */
@@ -37,14 +57,122 @@ public class TaskManager {
 	 */
 	private static Boolean taskListModified = false;
 	
+	/**
+	 * tasks added since the last save
+	 */
+	private static LinkedHashSet<Task> insertedTasks = new LinkedHashSet<>();
+	
+	/**
+	 * tasks already in storage that were edited or completed since the last save
+	 */
+	private static LinkedHashSet<Task> changedTasks = new LinkedHashSet<>();
+	
+	/**
+	 * ids of tasks already in storage that were deleted since the last save
+	 */
+	private static LinkedHashSet<String> deletedTaskIds = new LinkedHashSet<>();
+	
+	/**
+	 * true if the task list was sorted since the last save
+	 */
+	private static boolean taskOrderChanged = false;
+	
+	/**
+	 * held while a save is running, so only one save runs at a time
+	 */
+	private static final Object saveLock = new Object();
+	
+	/**
+	 * the user whose tasks are loaded, null if none
+	 */
+	private static String loadedUsername;
+	
+	/**
+	 * number of times changes were taken for saving, used to notice saves that overlap a reconcile
+	 */
+	private static long saveGeneration = 0;
+	
+	/**
+	 * how many times reading the repository after a snapshot load is tried while saves keep overlapping it
+	 */
+	private static final int RECONCILE_ATTEMPTS = 3;
+	
+	/**
+	 * views notified after the task list changed
+	 */
+	private static final CopyOnWriteArrayList<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * events of the batch being applied, sent together once it is done; null if no batch is being applied
+	 */
+	private static ArrayList<TaskEvent> batchEvents;
+	
+	/**
+	 * pending (not completed) tasks bucketed by deadline, kept in sync with {@code taskList}.
+	 * Each bucket keeps the same relative order as {@code taskList}.
+	 */
+	private static TreeMap<LocalDate, ArrayList<Task>> pendingByDeadline = new TreeMap<>();
+	
+	/**
+	 * completed tasks bucketed by deadline, kept in sync with {@code taskList}
+	 */
+	private static TreeMap<LocalDate, ArrayList<Task>> completedByDeadline = new TreeMap<>();
+	
+	/**
+	 * full-text index over the titles and descriptions in {@code taskList}
+	 */
+	private static final TaskSearchIndex searchIndex = new TaskSearchIndex();
+	
+	/**
+	 * score of a search result that only matched by its status text (e.g. "Overdue!")
+	 */
+	private static final double STATUS_MATCH_SCORE = 0.5;
+	
+	/**
+	 * running counts over {@code taskList} for the statistics dashboard
+	 */
+	private static final TaskStats stats = new TaskStats();
+	
+	/**
+	 * incremented on every change to the tasks, so cached views of them can tell they are stale
+	 */
+	private static long taskListVersion = 0;
+	
+	/**
+	 * month summaries already built from the tasks as of {@code monthSummariesVersion}
+	 */
+	private static final HashMap<YearMonth, MonthSummary> monthSummaries = new HashMap<>();
+	
+	/**
+	 * the task list version the cached month summaries were built from
+	 */
+	private static long monthSummariesVersion = 0;
+	
+	/**
+	 * how many month summaries are kept before the cache is emptied
+	 */
+	private static final int MAX_CACHED_MONTHS = 12;
+	
+	static {
+		// at midnight tasks become due today or overdue, so the views redraw their statuses
+		AppClock.addDayChangeListener(TaskManager::dayChanged);
+	}
+	
 	/**
      * Adds a new task to the current task list.
      *
      * @param task the task to be added
      */
-	public static void addTask(Task task) {
+	public static synchronized void addTask(Task task) {
 		taskList.add(task);
+		tasksById.put(task.getId(), task);
+		indexTask(task);
+		searchIndex.add(task);
+		stats.add(task);
+		insertedTasks.add(task);
+		TaskJournal.recordAdd(task);
 		taskListModified = true;
+		taskListChanged(new TaskEvent(TaskEvent.Type.ADDED, task, task.getDeadline()));
 	}
 	
 	/**
@@ -53,9 +181,71 @@ public class TaskManager {
 	 * @param task the task to be marked
 	 * @param isCompleted true if task is completed, false otherwise
 	 */
-	public static void setTaskComplete(Task task, Boolean isCompleted) {
+	public static synchronized void setTaskComplete(Task task, Boolean isCompleted) {
+		unindexTask(task, task.getDeadline());
+		stats.remove(task);
 		task.setCompleted(isCompleted);
+		indexTask(task);
+		stats.add(task);
+		markChanged(task);
+		TaskJournal.recordUpdate(task);
+		taskListModified = true;
+		taskListChanged(new TaskEvent(TaskEvent.Type.UPDATED, task, task.getDeadline()));
+	}
+	
+	/**
+	 * Updates the fields of an existing task and marks the task list as modified.
+	 * If the deadline changes, the task is moved to its new bucket in the deadline index.
+	 * 
+	 * @param task the task to be edited
+	 * @param title the new title
+	 * @param description the new description
+	 * @param priorityLevel the new priority level
+	 * @param deadline the new deadline
+	 */
+	public static synchronized void editTask(Task task, String title, String description, PriorityLevel priorityLevel, LocalDate deadline) {
+		LocalDate oldDeadline = task.getDeadline();
+		task.setTitle(title);
+		task.setDescription(description);
+		task.setPriorityLevel(priorityLevel);
+		searchIndex.update(task);
+		if (!deadline.equals(task.getDeadline())) {
+			unindexTask(task, task.getDeadline());
+			stats.remove(task);
+			task.setDeadline(deadline);
+			indexTask(task);
+			stats.add(task);
+		}
+		markChanged(task);
+		TaskJournal.recordUpdate(task);
 		taskListModified = true;
+		taskListChanged(new TaskEvent(TaskEvent.Type.UPDATED, task, oldDeadline));
+	}
+	
+	/**
+	 * Applies the changes of the batch in order, and sends the listeners one {@code BATCH} event
+	 * holding the single changes instead of one event per change.
+	 * The changes are not interleaved with other changes, but readers that do not lock the
+	 * task manager (e.g. {@link #getTasks()}) may see the batch half applied. If a change fails,
+	 * the changes before it stay applied (and are sent); there is no rollback.
+	 * Like the single changes, the batch is journaled but not saved; save it afterwards (once).
+	 * 
+	 * @param batch the changes to apply
+	 */
+	public static synchronized void applyBatch(TaskBatch batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		batchEvents = new ArrayList<>();
+		try {
+			batch.applyChanges();
+		} finally {
+			ArrayList<TaskEvent> events = batchEvents;
+			batchEvents = null;
+			if (!events.isEmpty()) {
+				taskListChanged(new TaskEvent(events));
+			}
+		}
 	}
 	
 	/**
@@ -79,35 +269,56 @@ public class TaskManager {
 	
 	/**
      * Returns the list of tasks currently in memory.
+     * The list is a copy taken under the lock, as the tasks may be replaced by a background load at any time.
      *
-     * @return the full task list
+     * @return the full task list, in list order
      */
-	public static ArrayList<Task> getTasks(){
-		return taskList;
+	public static synchronized ArrayList<Task> getTasks(){
+		return new ArrayList<>(taskList);
+	}
+	
+	/**
+	 * Returns the task with the given id.
+	 * 
+	 * @param id the id of the task
+	 * @return the task in the task list, or null if there is no such task
+	 */
+	public static synchronized Task getTaskById(String id) {
+		return tasksById.get(id);
 	}
 	
 	/**
      * Returns the most recent list of tasks filtered by search or filter operations 
      * in the current user session.
      *
-     * @return the latest filtered task list
+     * @return a copy of the latest filtered task list
      */
-	public static ArrayList<Task> getLatestFilteredTasks(){
-		return latestFilteredTasks;
+	public static synchronized ArrayList<Task> getLatestFilteredTasks(){
+		return new ArrayList<>(latestFilteredTasks);
+	}
+	
+	/**
+	 * Replaces the latest filtered task list, e.g. with the results of a search run in the background.
+	 * 
+	 * @param tasks the tasks to show as search results
+	 */
+	public static synchronized void setLatestFilteredTasks(List<Task> tasks) {
+		latestFilteredTasks.clear();
+		latestFilteredTasks.addAll(tasks);
 	}
 	
 	/**
 	 * Returns a list of all pending (not completed) tasks.
 	 */
-	public static ArrayList<Task> getPendingTasks(){
-		return taskList.stream().filter(task -> (!task.isCompleted() && !task.getStatus().equalsIgnoreCase("Overdue!")))
+	public static synchronized ArrayList<Task> getPendingTasks(){
+		return taskList.stream().filter(task -> (!task.isCompleted() && task.getTaskStatus() != TaskStatus.OVERDUE))
 				.collect(Collectors.toCollection(ArrayList:: new));
 	}
 	
 	/**
 	 * Returns a list of all completed tasks.
 	 */
-	public static ArrayList<Task> getCompletedTasks() {
+	public static synchronized ArrayList<Task> getCompletedTasks() {
 		return taskList.stream().filter(task -> task.isCompleted())
 				.collect(Collectors.toCollection(ArrayList::new));
 	}
@@ -115,8 +326,8 @@ public class TaskManager {
 	/**
 	 * Returns a list of all overdue tasks.
 	 */
-	public static ArrayList<Task> getOverdueTasks() {
-		return taskList.stream().filter(task -> task.getStatus().equalsIgnoreCase("Overdue!"))
+	public static synchronized ArrayList<Task> getOverdueTasks() {
+		return taskList.stream().filter(task -> task.getTaskStatus() == TaskStatus.OVERDUE)
 				.collect(Collectors.toCollection(ArrayList::new));
 	}
 	
@@ -127,9 +338,9 @@ public class TaskManager {
 	 * @param days the number of past days to consider (e.g., 7 or 30)
 	 * @return a map of LocalDate to count of overdue tasks on that date
 	 */
-	public static Map<LocalDate, Integer> getOverdueHistory(int days){
+	public static synchronized Map<LocalDate, Integer> getOverdueHistory(int days){
 		Map<LocalDate, Integer> overdueHistory = new LinkedHashMap<>();
-		LocalDate today = LocalDate.now();
+		LocalDate today = AppClock.today();
 		
 		// map is initialized to all dates in the range and all overdue history count to 0
 		for(int i = days; i >= 1; i--) {
@@ -137,13 +348,10 @@ public class TaskManager {
 			overdueHistory.put(date, 0);
 		}
 		
-		for(Task t: taskList) {
-			if(!t.isCompleted()) {
-				LocalDate deadline = t.getDeadline();
-				if (overdueHistory.containsKey(deadline) && deadline.isBefore(today)) {
-					overdueHistory.put(deadline, overdueHistory.get(deadline) + 1);
-				}
-			}
+		// only the buckets within the range are visited
+		for(Map.Entry<LocalDate, ArrayList<Task>> entry: 
+				pendingByDeadline.subMap(today.minusDays(days), true, today, false).entrySet()) {
+			overdueHistory.put(entry.getKey(), entry.getValue().size());
 		}
 		return overdueHistory;
 	}
@@ -154,164 +362,208 @@ public class TaskManager {
      * @param date the date to filter tasks by
      * @return a list of tasks with deadlines matching the given date
      */
-	public static ArrayList<Task> getTasksOnDate(LocalDate date){
-		ArrayList<Task> tasks = new ArrayList<>();
-		
-		for(Task t: taskList) {
-			if (!t.isCompleted() && t.getDeadline().equals(date) ){
-				tasks.add(t);
+	public static synchronized ArrayList<Task> getTasksOnDate(LocalDate date){
+		ArrayList<Task> tasks = pendingByDeadline.get(date);
+		return tasks == null ? new ArrayList<>() : new ArrayList<>(tasks);
+	}
+	
+	/**
+     * Returns a list of all completed tasks whose deadline was the specified date.
+     *
+     * @param date the date to filter tasks by
+     * @return a list of completed tasks with deadlines matching the given date
+     */
+	public static synchronized ArrayList<Task> getCompletedTasksOnDate(LocalDate date){
+		ArrayList<Task> tasks = completedByDeadline.get(date);
+		return tasks == null ? new ArrayList<>() : new ArrayList<>(tasks);
+	}
+	
+	/**
+	 * Returns the tasks due in the given month, by day, for drawing a calendar grid.
+	 * <p>
+	 * Summaries are cached until the tasks change. A missing summary is built together
+	 * with the summaries of the previous and next month in one pass over the deadline index,
+	 * so navigating to a neighbouring month does not scan the tasks again.
+	 * 
+	 * @param month the month
+	 * @return the month's summary
+	 */
+	public static synchronized MonthSummary getMonthSummary(YearMonth month) {
+		if (monthSummariesVersion != taskListVersion) {
+			monthSummaries.clear(); // the tasks changed since they were built
+			monthSummariesVersion = taskListVersion;
+		}
+		MonthSummary summary = monthSummaries.get(month);
+		if (summary == null) {
+			if (monthSummaries.size() >= MAX_CACHED_MONTHS) {
+				monthSummaries.clear();
 			}
+			summarizeMonths(month.minusMonths(1), month.plusMonths(1));
+			summary = monthSummaries.get(month);
 		}
-		
-		return tasks;
+		return summary;
+	}
+	
+	/**
+	 * Builds and caches the summaries of the months from {@code first} to {@code last}
+	 * that are not cached yet, in one pass over the deadline index.
+	 * 
+	 * @param first the first month
+	 * @param last the last month
+	 */
+	private static void summarizeMonths(YearMonth first, YearMonth last) {
+		HashMap<YearMonth, MonthSummary> built = new HashMap<>();
+		for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+			if (!monthSummaries.containsKey(month)) {
+				built.put(month, new MonthSummary(month, taskListVersion));
+			}
+		}
+		LocalDate from = first.atDay(1);
+		LocalDate to = last.atEndOfMonth();
+		for (TreeMap<LocalDate, ArrayList<Task>> index : List.of(pendingByDeadline, completedByDeadline)) {
+			for (Map.Entry<LocalDate, ArrayList<Task>> bucket : index.subMap(from, true, to, true).entrySet()) {
+				MonthSummary summary = built.get(YearMonth.from(bucket.getKey()));
+				if (summary != null) {
+					for (Task task : bucket.getValue()) {
+						summary.add(task);
+					}
+				}
+			}
+		}
+		monthSummaries.putAll(built);
+	}
+	
+	/**
+	 * Returns a list of all (incomplete) tasks due between {@code from} and {@code to}, both inclusive,
+	 * ordered by deadline.
+	 * 
+	 * @param from the first date of the range
+	 * @param to the last date of the range
+	 * @return a list of incomplete tasks due within the range
+	 */
+	public static synchronized ArrayList<Task> getTasksDueBetween(LocalDate from, LocalDate to){
+		return collectBuckets(pendingByDeadline.subMap(from, true, to, true));
 	}
 	
 	/**
 	 * Returns the number of tasks completed today.
 	 */
-	public static long getNumTasksCompletedToday() {
-		LocalDate today = LocalDate.now();
-		
-		return taskList.stream()
-				.filter(task -> task.isCompleted())
-				.filter(task -> today.equals(task.getCompletionDate()))
-				.count();
+	public static synchronized long getNumTasksCompletedToday() {
+		LocalDate today = AppClock.today();
+		return stats.getCompletedBetween(today, today);
 	}
 	
 	/**
 	 * Returns the number of tasks completed this week.
 	 */
-	public static long getNumTasksCompletedThisWeek() {
-		LocalDate today = LocalDate.now();
+	public static synchronized long getNumTasksCompletedThisWeek() {
+		LocalDate today = AppClock.today();
 		WeekFields weekFields = WeekFields.of(Locale.getDefault());
-		int currentWeek = today.get(weekFields.weekOfWeekBasedYear());
-		int currentYear = today.getYear();
-		
-		return taskList.stream()
-				.filter(task -> task.isCompleted())
-				.filter(task -> {
-					LocalDate completionDate = task.getCompletionDate();
-					return  completionDate.get(weekFields.weekOfWeekBasedYear()) == currentWeek && completionDate.getYear() == currentYear;
-				}).count();
+		LocalDate startOfWeek = today.with(weekFields.dayOfWeek(), 1);
+		return stats.getCompletedBetween(startOfWeek, startOfWeek.plusDays(6));
+	}
+	
+	/**
+	 * Returns the number of completed tasks.
+	 */
+	public static synchronized int getNumCompletedTasks() {
+		return stats.getCompleted();
+	}
+	
+	/**
+	 * Returns the number of pending tasks (not completed and not overdue), the size of {@link #getPendingTasks()}.
+	 */
+	public static synchronized int getNumPendingTasks() {
+		return stats.getPending(AppClock.today());
+	}
+	
+	/**
+	 * Returns the number of overdue tasks, the size of {@link #getOverdueTasks()}.
+	 */
+	public static synchronized int getNumOverdueTasks() {
+		return stats.getOverdue(AppClock.today());
+	}
+	
+	/**
+	 * Returns the number of incomplete tasks due between two dates, both inclusive,
+	 * the size of {@link #getTasksDueBetween(LocalDate, LocalDate)}.
+	 * 
+	 * @param from the first date of the range
+	 * @param to the last date of the range
+	 * @return the number of incomplete tasks due within the range
+	 */
+	public static synchronized int getNumTasksDueBetween(LocalDate from, LocalDate to) {
+		return stats.getDueBetween(from, to);
 	}
 	
 	/**
 	 * Returns the task completion rate (completed / total) as a percentage.
 	 */
-	public static double getCompletionRate() {
-		double total = taskList.size();
-		if (total == 0) {
-			return 0;
-		}
-		return (getCompletedTasks().size() * 100) / total;
+	public static synchronized double getCompletionRate() {
+		return stats.getCompletionRate();
 	}
 	
 	/**
      * Sets the {@code latestFilteredTasks} list based on a combination of keyword, priority level,
      * and status index (representing overdue, due today, or due in X days).
+     * Tasks matching the keyword are looked up in the search index (best matches first),
+     * then the priority level and status options are applied in one pass.
      *
      * @param keyword       the search keyword (may be null)
      * @param priorityLevel the priority level filter (may be null)
      * @param statusIndex   the status index from the status filter dropdown (see {@code SearchView})
      */
-	public static void setFilteredTasks(String keyword, PriorityLevel priorityLevel, int statusIndex){
+	public static synchronized void setFilteredTasks(String keyword, PriorityLevel priorityLevel, int statusIndex){
+		LocalDate today = AppClock.today();
+		TaskFilter filter = TaskFilter.compile(null, priorityLevel, statusIndex, today);
 		latestFilteredTasks.clear();
+		latestFilteredTasks.addAll(filter.filter(searchTasks(keyword, today)));
+	}
 	
-		for(Task task: taskList) {
-			boolean matches = true;
-			
-			if(keyword != null && !keyword.isBlank() && !keyword.isEmpty()){
-				if (keyword.equalsIgnoreCase("All")) {
-					// do nothing
-					// all means all the tasks should be in filtered tasks
-				}
-				else if (!task.getTitle().toLowerCase().contains(keyword.toLowerCase()) && 
-						!task.getDescription().toLowerCase().contains(keyword.toLowerCase()) && 
-						!task.getStatus().toLowerCase().contains(keyword.toLowerCase())) {
-					matches = false;
-				}
-			}
-					
-			if(priorityLevel != null && !task.getPriorityLevel().equals(priorityLevel)) {
-				matches = false;
-			}
-			
-			ArrayList<Task> completed = statusIndex == 1 ? getCompletedTasks() : null;
-			ArrayList<Task> overdue = statusIndex == 2 ? getOverdueTasks() : null;
-			ArrayList<Task> dueToday = statusIndex == 3 ? getTasksOnDate(LocalDate.now()) : null;
-			ArrayList<Task> dueTomorrow = statusIndex == 4 ? getTasksOnDate(LocalDate.now().plusDays(1)): null;
-			ArrayList<Task> dueIn3Days = statusIndex == 5 ? getTaskDueInNext(3, taskList) : null;
-			ArrayList<Task> dueThisWeek = statusIndex == 6? getTasksDueThisWeek() : null;
-			ArrayList<Task> dueNextWeek = statusIndex == 7? getTasksDueNextWeek(): null;
-			ArrayList<Task> dueIn14Days = statusIndex == 8 ? getTaskDueInNext(14, taskList) : null;
-			ArrayList<Task> dueIn30Days = statusIndex == 9 ? getTaskDueInNext(30, taskList) : null;
-			
-			switch(statusIndex) {
-			
-			case 1: // completed
-					if (completed == null || !completed.contains(task)) {
-						matches = false;
-					}
-					break;
-			
-			case 2: // Overdue
-					if(overdue == null || !overdue.contains(task)) {
-						matches = false;
-					}
-					break; 
-						
-			case 3: // due today 
-					if(dueToday == null || !dueToday.contains(task)) {
-						matches = false;
-					}
-					break; 
-			
-			case 4: // due tomorrow
-					if(dueTomorrow == null || !dueTomorrow.contains(task)) {
-						matches = false;
-					}
-					break;
-			
-			case 5: // due in 3 days
-					if(dueIn3Days == null || !dueIn3Days.contains(task)) {
-						matches = false;
+	/**
+	 * Returns the tasks whose title, description or status contains the keyword, ignoring case,
+	 * best matches first (title hits before description hits, status-only matches last).
+	 * 
+	 * @param keyword the search keyword; null, blank or "All" return all tasks in list order
+	 * @return the matching tasks
+	 */
+	public static synchronized ArrayList<Task> searchTasks(String keyword) {
+		return searchTasks(keyword, AppClock.today());
+	}
+	
+	private static ArrayList<Task> searchTasks(String keyword, LocalDate today) {
+		if (keyword == null || keyword.isBlank() || keyword.equalsIgnoreCase("All")) {
+			return new ArrayList<>(taskList);
+		}
+		HashMap<Task, Double> scores = searchIndex.search(keyword);
+		if (scores == null) {
+			// nothing to look up in the index (e.g. only punctuation)
+			return TaskFilter.compile(keyword, null, TaskFilter.ANY_STATUS, today).filter(taskList);
+		}
+		addStatusMatches(keyword, today, scores);
+		
+		ArrayList<Task> results = new ArrayList<>(scores.keySet());
+		results.sort((a, b) -> {
+			int byScore = Double.compare(scores.get(b), scores.get(a));
+			return byScore != 0 ? byScore : a.getDeadline().compareTo(b.getDeadline());
+		});
+		return results;
+	}
+	
+	/**
+	 * Adds the tasks whose status text contains the keyword to the search results.
+	 * All tasks in a deadline bucket have the same status, so it is checked once per bucket.
+	 */
+	private static void addStatusMatches(String keyword, LocalDate today, HashMap<Task, Double> scores) {
+		for (TreeMap<LocalDate, ArrayList<Task>> index : List.of(pendingByDeadline, completedByDeadline)) {
+			for (ArrayList<Task> bucket : index.values()) {
+				if (TaskFilter.containsIgnoreCase(bucket.get(0).getStatus(today), keyword)) {
+					for (Task task : bucket) {
+						scores.putIfAbsent(task, STATUS_MATCH_SCORE);
 					}
-					break;
-					
-			case 6: // due this week
-				if(dueThisWeek == null || !dueThisWeek.contains(task)) {
-					matches = false;
 				}
-				break;
-			
-			case 7: // due next week
-					if (dueNextWeek == null || !dueNextWeek.contains(task)) {
-						matches = false;
-					}
-					break;
-			
-			case 8: // due in 14 days 
-					if (dueIn14Days == null || !dueIn14Days.contains(task)) {
-						matches = false;
-					}
-					break;
-			
-			case 9: // due in 30 days
-					if (dueIn30Days == null || !dueIn30Days.contains(task)) {
-						matches = false;
-					}
-					break;
-			
-			case 0: // statusBox selects null, or filter option not used
-					// do nothing
-					break;
-			}
-			
-			if (matches) {
-				latestFilteredTasks.add(task);
 			}
 		}
-		
 	}
 	
 	/**
@@ -321,21 +573,28 @@ public class TaskManager {
 	 * that falls between today and {@code today + days} (inclusive) are included. Completed
 	 * tasks within the deadline window are not included
 	 * <p>
-	 * The result is returned as an {@code ArrayList<Task>} 
+	 * The result is returned as an {@code ArrayList<Task>}, ordered by deadline
+	 * (tasks due on the same day keep their relative order), whether or not {@code tasks} is the full task list.
 	 *
 	 * @param days  the number of days from today to include in the date range (e.g., 7, 15, or 30)
-	 * @param tasks the list of tasks to search through
+	 * @param tasks the list of tasks to search through, or null for the full task list
+	 *              (answered from the deadline index, without scanning the tasks)
 	 * @return an {@code ArrayList<Task>} containing tasks due within the specified date range
 	 */
-	public static ArrayList<Task> getTaskDueInNext(int days, ArrayList<Task> tasks){
-		LocalDate today = LocalDate.now();
+	public static synchronized ArrayList<Task> getTaskDueInNext(int days, ArrayList<Task> tasks){
+		LocalDate today = AppClock.today();
 		LocalDate endDate = today.plusDays(days);
+		if (tasks == null) {
+			// the full task list is covered by the deadline index
+			return getTasksDueBetween(today, endDate);
+		}
 		List<Task> retList = tasks.stream()
 				.filter(task -> !task.isCompleted())
 				.filter(task -> {
 					LocalDate deadline = task.getDeadline();
 					return (deadline != null && !deadline.isBefore(today) && !deadline.isAfter(endDate));
 				})
+				.sorted(Comparator.comparing(Task::getDeadline)) // stable, like the deadline index
 				.collect(Collectors.toList());
 		
 		return new ArrayList<>(retList);
@@ -347,19 +606,12 @@ public class TaskManager {
 	 *
 	 * @return an {@code ArrayList} of tasks due this week and not completed
 	 */
-	public static ArrayList<Task> getTasksDueThisWeek(){
-		LocalDate today = LocalDate.now();
+	public static synchronized ArrayList<Task> getTasksDueThisWeek(){
+		LocalDate today = AppClock.today();
 		LocalDate startOfThisWeek = today.with(java.time.DayOfWeek.MONDAY);
 		LocalDate endOfThisWeek = startOfThisWeek.plusDays(6);
 		
-		ArrayList<Task> retList = taskList.stream()
-				.filter(task -> !task.isCompleted())
-				.filter(task -> {
-					LocalDate deadline = task.getDeadline();
-					return !deadline.isBefore(startOfThisWeek) && !deadline.isAfter(endOfThisWeek);
-			}).collect(Collectors.toCollection(ArrayList::new));
-				
-		return retList;
+		return getTasksDueBetween(startOfThisWeek, endOfThisWeek);
 	}
 	
 	/**
@@ -368,55 +620,474 @@ public class TaskManager {
 	 *
 	 * @return an {@code ArrayList} of tasks due next week and not completed
 	 */
-	public static ArrayList<Task> getTasksDueNextWeek() {
-		LocalDate today = LocalDate.now();
+	public static synchronized ArrayList<Task> getTasksDueNextWeek() {
+		LocalDate today = AppClock.today();
 		LocalDate startOfNextWeek = today.with(java.time.DayOfWeek.SUNDAY).plusDays(1);
 		LocalDate endOfNextWeek = startOfNextWeek.plusDays(6);
 		
-		ArrayList<Task> retList = taskList.stream()
-				.filter(task -> !task.isCompleted())
-				.filter(task -> {
-					LocalDate deadline = task.getDeadline();
-					return !deadline.isBefore(startOfNextWeek) && !deadline.isAfter(endOfNextWeek);
-				}).collect(Collectors.toCollection(ArrayList::new));
-		
-		return retList;
+		return getTasksDueBetween(startOfNextWeek, endOfNextWeek);
+	}
+	
+	/**
+	 * Returns the number of incomplete tasks due this week (Monday to Sunday), without listing them.
+	 */
+	public static int getNumTasksDueThisWeek() {
+		LocalDate startOfThisWeek = AppClock.today().with(java.time.DayOfWeek.MONDAY);
+		return getNumTasksDueBetween(startOfThisWeek, startOfThisWeek.plusDays(6));
+	}
+	
+	/**
+	 * Returns the number of incomplete tasks due next week (Monday to Sunday), without listing them.
+	 */
+	public static int getNumTasksDueNextWeek() {
+		LocalDate startOfNextWeek = AppClock.today().with(java.time.DayOfWeek.SUNDAY).plusDays(1);
+		return getNumTasksDueBetween(startOfNextWeek, startOfNextWeek.plusDays(6));
 	}
 	
 	/**
      * Sorts the task list by priority level (HIGH comes first).
      */
-	public static void prioritizeTaskList() {
+	public static synchronized void prioritizeTaskList() {
 		taskList.sort((t1, t2) -> t1.getPriorityLevel().compareTo(t2.getPriorityLevel()));
+		rebuildDeadlineIndex();
+		TaskJournal.recordOrder(taskList);
+		taskOrderChanged = true;
+		taskListModified = true;
+		taskListChanged(new TaskEvent(TaskEvent.Type.RELOADED, null, null));
 	}
 	
 	/**
      * Sorts the task list by deadline date (due earliest comes first).
      */
-	public static void sortTasksByDeadline() {
+	public static synchronized void sortTasksByDeadline() {
 		taskList.sort((t1, t2) -> t1.getDeadline().compareTo(t2.getDeadline()));
+		rebuildDeadlineIndex();
+		TaskJournal.recordOrder(taskList);
+		taskOrderChanged = true;
+		taskListModified = true;
+		taskListChanged(new TaskEvent(TaskEvent.Type.RELOADED, null, null));
 	}
 	
 	 /**
-     * Saves all tasks of the current user to the Google Sheet.
-     * Clears any previous task entries of that user from the sheet.
+     * Saves the unsaved changes of the current user's tasks to the task repository
+     * (the Google Sheet unless another backend was selected in {@code Repositories}).
+     * Only rows of tasks that were added, changed or deleted since the last save are written
+     * (all of the user's rows if the list was sorted). If saving fails, the changes are kept
+     * so they are retried on the next save.
+     * <p>
+     * Safe to call from a background thread; only one save runs at a time. Views should not call this
+     * on the event dispatch thread, but hand the save to the {@code PersistenceExecutor}.
+     * <p>
+     * Nothing is saved if the given user's tasks are no longer loaded (e.g. a save requested before
+     * logout runs after another user logged in); their changes are still in their journal.
      * 
-     * @param username the username used to name the file
+     * @param username the username of the user
+     * @return true if the changes were saved (or there were none), false if saving failed
+     *         or the user's tasks are not loaded
      */
-	public static void saveTasksForUser(String username) {
-		SheetsServiceUtil.writeTasksToSheet(taskList, username);
+	public static boolean saveTasksForUser(String username) {
+		synchronized (saveLock) {
+			TaskChangeSet changes;
+			synchronized (TaskManager.class) {
+				if (!username.equals(loadedUsername)) {
+					return false;
+				}
+				changes = takePendingChanges();
+			}
+			if (changes.isEmpty()) {
+				TaskJournal.discardSealed(username);
+				return true;
+			}
+			if (Repositories.getTaskRepository().saveChanges(changes, changes.getUsername())) {
+				TaskJournal.discardSealed(username);
+				synchronized (TaskManager.class) {
+					taskListModified = hasPendingChanges();
+				}
+				writeSnapshot(username);
+				return true;
+			}
+			restorePendingChanges(changes);
+			return false;
+		}
 	}
 	
 	/**
-     * Loads all tasks belonging to the given user from the Google Sheet.
+     * Loads the given user's tasks, then replays the user's journal on top of them, so changes
+     * that were not saved before the app last closed (or crashed) are restored and saved again.
+     * <p>
+     * If a local snapshot of the tasks exists, it is used right away and the task repository is read
+     * in the background afterwards; the tasks are then replaced by the repository's (plus the journal),
+     * and a {@code RELOADED} event is sent to the task change listeners.
+     * Otherwise (first login on this device) the repository is read before returning.
+     * <p>
+     * A save of the previously loaded user that is still running is waited for before the tasks are replaced;
+     * saves of that user requested later save nothing.
      *
      * @param username the username of the user
      */
 	public static void loadTasksForUser(String username) {
-		ArrayList<Task> loadedTasks = SheetsServiceUtil.readTasksFromSheet(username);
-		// make sure tasklist is empty
+		loadTasksForUser(username, LocalTaskStore.read(username));
+	}
+	
+	/**
+	 * Loads the given user's tasks like {@link #loadTasksForUser(String)}, starting from a snapshot
+	 * read beforehand, e.g. while the user's credentials were being checked.
+	 * 
+	 * @param username the username of the user
+	 * @param snapshot the tasks of the user's local snapshot, or null if there is none
+	 */
+	public static void loadTasksForUser(String username, ArrayList<Task> snapshot) {
+		ArrayList<Task> loadedTasks = snapshot;
+		boolean fromSnapshot = loadedTasks != null;
+		if (!fromSnapshot) {
+			loadedTasks = Repositories.getTaskRepository().loadTasks(username);
+		}
+		
+		// a save of the previous user that is still running finishes first
+		synchronized (saveLock) {
+			synchronized (TaskManager.class) {
+				loadedUsername = username;
+				TaskJournal.open(username);
+				resetTasks(loadedTasks == null ? new ArrayList<>() : loadedTasks);
+			}
+		}
+		
+		if (fromSnapshot) {
+			CompletableFuture.runAsync(() -> reconcileWithRepository(username, RECONCILE_ATTEMPTS));
+		}
+		else if (loadedTasks != null) {
+			writeSnapshot(username);
+		}
+	}
+	
+	/**
+	 * Registers a listener to be told about every change to the task list,
+	 * so views can update only what changed. Listeners are called on the event dispatch thread.
+	 * 
+	 * @param listener the listener to add
+	 */
+	public static void addTaskChangeListener(TaskChangeListener listener) {
+		listeners.addIfAbsent(listener);
+	}
+	
+	/**
+	 * Unregisters a listener added with {@link #addTaskChangeListener(TaskChangeListener)}.
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public static void removeTaskChangeListener(TaskChangeListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Tells the views the date changed, so statuses and the pending and overdue lists are shown again.
+	 */
+	private static synchronized void dayChanged() {
+		taskListChanged(new TaskEvent(TaskEvent.Type.RELOADED, null, null));
+	}
+	
+	/**
+	 * Marks cached views of the tasks as stale and sends the event to the listeners on the
+	 * event dispatch thread, after the current change (and the lock held for it) is done.
+	 * While a batch is applied, the event is kept and sent with the batch's other events.
+	 * 
+	 * @param event the change
+	 */
+	private static void taskListChanged(TaskEvent event) {
+		if (batchEvents != null) {
+			batchEvents.add(event);
+			return;
+		}
+		taskListVersion++;
+		if (listeners.isEmpty()) {
+			return;
+		}
+		SwingUtilities.invokeLater(() -> {
+			for (TaskChangeListener listener : listeners) {
+				listener.taskChanged(event);
+			}
+		});
+	}
+	
+	/**
+	 * Reads the user's tasks from the task repository and, on the event dispatch thread,
+	 * replaces the tasks loaded from the snapshot with them and replays the journal again.
+	 * <p>
+	 * The repository is read while no save is running. If a save starts before the tasks are replaced,
+	 * the read may miss its changes, so the reconcile is retried. If the repository cannot be read,
+	 * the snapshot's tasks are kept.
+	 * 
+	 * @param username the username of the user
+	 * @param attempts how many more times the reconcile may be tried
+	 */
+	private static void reconcileWithRepository(String username, int attempts) {
+		ArrayList<Task> storedTasks;
+		long generation;
+		synchronized (saveLock) {
+			synchronized (TaskManager.class) {
+				generation = saveGeneration;
+			}
+			storedTasks = Repositories.getTaskRepository().loadTasks(username);
+		}
+		if (storedTasks == null) {
+			return; // offline, keep the snapshot
+		}
+		
+		SwingUtilities.invokeLater(() -> {
+			synchronized (TaskManager.class) {
+				if (!username.equals(loadedUsername)) {
+					return; // another user logged in meanwhile
+				}
+				if (generation != saveGeneration) {
+					if (attempts > 1) {
+						CompletableFuture.runAsync(() -> reconcileWithRepository(username, attempts - 1));
+					}
+					return;
+				}
+				resetTasks(adoptLoadedTasks(storedTasks));
+				taskListChanged(new TaskEvent(TaskEvent.Type.RELOADED, null, null));
+			}
+			CompletableFuture.runAsync(() -> writeSnapshot(username));
+		});
+	}
+	
+	/**
+	 * Replaces the task list with the given tasks and replays the journal on top of them.
+	 * 
+	 * @param loadedTasks the tasks as last saved
+	 */
+	private static void resetTasks(ArrayList<Task> loadedTasks) {
 		taskList.clear();
 		taskList.addAll(loadedTasks);
+		clearPendingChanges();
+		replayJournal(TaskJournal.readEntries());
+		rebuildIdIndex();
+		rebuildDeadlineIndex();
+		searchIndex.rebuild(taskList);
+		stats.rebuild(taskList);
+		taskListVersion++;
+		taskListModified = hasPendingChanges();
+	}
+	
+	/**
+	 * Returns the loaded tasks, reusing the task objects already in memory for tasks with the same id,
+	 * so views and pop-ups holding on to a task keep working with the one in the list.
+	 * 
+	 * @param loadedTasks the tasks read from storage
+	 * @return the loaded tasks, in the same order
+	 */
+	private static ArrayList<Task> adoptLoadedTasks(ArrayList<Task> loadedTasks) {
+		ArrayList<Task> adopted = new ArrayList<>(loadedTasks.size());
+		for (Task loaded : loadedTasks) {
+			Task task = tasksById.get(loaded.getId());
+			if (task == null) {
+				adopted.add(loaded);
+			}
+			else {
+				copyFields(loaded, task);
+				adopted.add(task);
+			}
+		}
+		return adopted;
+	}
+	
+	/**
+	 * Writes a snapshot of the loaded user's tasks to the local store.
+	 * 
+	 * @param username the username of the user
+	 */
+	private static void writeSnapshot(String username) {
+		ArrayList<Task> tasks;
+		synchronized (TaskManager.class) {
+			if (!username.equals(loadedUsername)) {
+				return;
+			}
+			tasks = copyOf(taskList);
+		}
+		LocalTaskStore.write(username, tasks);
+	}
+	
+	/**
+	 * Returns true if there are changes that were not saved yet.
+	 */
+	public static synchronized boolean hasPendingChanges() {
+		return !insertedTasks.isEmpty() || !changedTasks.isEmpty() || !deletedTaskIds.isEmpty() || taskOrderChanged;
+	}
+	
+	/**
+	 * Returns true if the given user's tasks are loaded and have changes that were not saved yet.
+	 * 
+	 * @param username the username of the user
+	 */
+	public static synchronized boolean hasPendingChanges(String username) {
+		return username.equals(loadedUsername) && hasPendingChanges();
+	}
+	
+	/**
+	 * Returns the unsaved changes and resets the dirty state, 
+	 * so changes made while saving are tracked for the next save.
+	 * The returned tasks are copies, so they can be saved from another thread
+	 * while the originals are being edited. The journal is sealed at the same point.
+	 * 
+	 * @return the changes since the last save
+	 */
+	public static synchronized TaskChangeSet takePendingChanges() {
+		TaskChangeSet changes = new TaskChangeSet(loadedUsername, copyOf(insertedTasks), copyOf(changedTasks), deletedTaskIds, 
+				taskOrderChanged ? copyOf(taskList) : null);
+		clearPendingChanges();
+		if (!changes.isEmpty()) {
+			saveGeneration++;
+		}
+		TaskJournal.seal();
+		return changes;
+	}
+	
+	/**
+	 * Puts back changes that could not be saved, merging them with changes made since.
+	 * Tasks that were deleted in the meantime are not restored, and nothing is restored
+	 * if another user's tasks were loaded since the changes were taken.
+	 * 
+	 * @param changes the changes that failed to save
+	 */
+	public static synchronized void restorePendingChanges(TaskChangeSet changes) {
+		if (!Objects.equals(changes.getUsername(), loadedUsername)) {
+			return; // the changes stay in that user's journal
+		}
+		for (Task saved : changes.getInsertedTasks()) {
+			Task task = tasksById.get(saved.getId());
+			if (task != null) {
+				insertedTasks.add(task);
+				changedTasks.remove(task);
+			}
+		}
+		for (Task saved : changes.getChangedTasks()) {
+			Task task = tasksById.get(saved.getId());
+			if (task != null && !insertedTasks.contains(task)) {
+				changedTasks.add(task);
+			}
+		}
+		deletedTaskIds.addAll(changes.getDeletedTaskIds());
+		taskOrderChanged = taskOrderChanged || changes.isReordered();
+		taskListModified = true;
+	}
+	
+	/**
+	 * Applies journal entries to the task list and records them as unsaved changes.
+	 * Entries are applied in order; an added task that is already in the list
+	 * (it was saved before the journal was cleaned up) is treated as an update.
+	 * A deleted task that is not in the list is still recorded as deleted, since snapshots
+	 * hold unsaved changes and may lack a task whose row is still in the task repository.
+	 * 
+	 * @param entries the journal entries, oldest first
+	 */
+	private static void replayJournal(List<String[]> entries) {
+		LinkedHashMap<String, Task> replayedById = new LinkedHashMap<>();
+		for (Task task : taskList) {
+			replayedById.put(task.getId(), task);
+		}
+		// ids of tasks added by the journal itself, which were never saved
+		HashSet<String> addedByJournal = new HashSet<>();
+		
+		for (String[] entry : entries) {
+			try {
+				switch (entry[0]) {
+				case TaskJournal.ADD:
+				case TaskJournal.UPDATE:
+					Task saved = TaskJournal.decodeTask(entry);
+					Task task = replayedById.get(saved.getId());
+					if (task == null) {
+						if (entry[0].equals(TaskJournal.UPDATE)) {
+							break; // task was deleted on another device
+						}
+						replayedById.put(saved.getId(), saved);
+						insertedTasks.add(saved);
+						addedByJournal.add(saved.getId());
+					}
+					else {
+						copyFields(saved, task);
+						markChanged(task);
+					}
+					break;
+				
+				case TaskJournal.DELETE:
+					Task deleted = replayedById.remove(entry[1]);
+					if (deleted == null) {
+						if (!addedByJournal.contains(entry[1])) {
+							deletedTaskIds.add(entry[1]);
+						}
+					}
+					else if (!insertedTasks.remove(deleted)) {
+						changedTasks.remove(deleted);
+						deletedTaskIds.add(deleted.getId());
+					}
+					break;
+				
+				case TaskJournal.ORDER:
+					LinkedHashMap<String, Task> reordered = new LinkedHashMap<>();
+					for (int i = 1; i < entry.length; i++) {
+						Task sorted = replayedById.get(entry[i]);
+						if (sorted != null) {
+							reordered.put(entry[i], sorted);
+						}
+					}
+					// tasks the entry does not know about keep their place at the end
+					reordered.putAll(replayedById);
+					replayedById = reordered;
+					taskOrderChanged = true;
+					break;
+				}
+			} catch (RuntimeException e) {
+				System.out.println("Skipping unreadable journal entry: " + String.join(" ", entry));
+			}
+		}
+		
+		taskList.clear();
+		taskList.addAll(replayedById.values());
+	}
+	
+	/**
+	 * Returns copies of the given tasks, in the same order.
+	 */
+	private static ArrayList<Task> copyOf(Collection<Task> tasks) {
+		ArrayList<Task> copies = new ArrayList<>(tasks.size());
+		for (Task task : tasks) {
+			copies.add(task.copy());
+		}
+		return copies;
+	}
+	
+	/**
+	 * Copies everything but the id from one task to another.
+	 */
+	private static void copyFields(Task from, Task to) {
+		to.setTitle(from.getTitle());
+		to.setDescription(from.getDescription());
+		to.setPriorityLevel(from.getPriorityLevel());
+		to.setDeadline(from.getDeadline());
+		to.setCompleted(from.isCompleted());
+		to.setCompletionDate(from.getCompletionDate());
+	}
+	
+	/**
+	 * Forgets all unsaved changes, e.g. after a fresh load.
+	 */
+	private static void clearPendingChanges() {
+		insertedTasks.clear();
+		changedTasks.clear();
+		deletedTaskIds.clear();
+		taskOrderChanged = false;
+	}
+	
+	/**
+	 * Records that an existing task was edited. Tasks that were added since the last save
+	 * are written in full anyway, so they are not tracked twice.
+	 * 
+	 * @param task the edited task
+	 */
+	private static void markChanged(Task task) {
+		if (!insertedTasks.contains(task)) {
+			changedTasks.add(task);
+		}
 	}
 	
 	/**
@@ -447,21 +1118,129 @@ public class TaskManager {
 	}
 	
 	/**
-     * Clears all tasks from memory (does not affect saved files).
+	 * Forgets the loaded user's tasks without recording them as deleted, e.g. when the user
+	 * turns out not to be authenticated after their tasks were loaded. Nothing is saved, the journal
+	 * is closed (its entries stay on disk) and a reconcile still running for the user is dropped.
+	 */
+	public static synchronized void unloadTasks() {
+		TaskJournal.close();
+		loadedUsername = null;
+		taskList.clear();
+		tasksById.clear();
+		latestFilteredTasks.clear();
+		pendingByDeadline.clear();
+		completedByDeadline.clear();
+		searchIndex.clear();
+		stats.clear();
+		clearPendingChanges();
+		taskListVersion++;
+		taskListModified = false;
+		taskListChanged(new TaskEvent(TaskEvent.Type.RELOADED, null, null));
+	}
+	
+	/**
+     * Clears all tasks from memory (does not affect saved files or the journal, and nothing is saved).
+     * Same as {@link #unloadTasks()}.
      */
     public static void clearTasks() {
-        taskList.clear();
-        taskListModified = true;
+    	unloadTasks();
     }
     
     /**
-     * Removes the given task from the current task list in memory.
+     * Removes the task with the given task's id from the current task list in memory.
+     * The given task may be an outdated copy; the task in the list is the one removed and unindexed.
      *
      * @param task the task to delete
      */
-    public static void deleteTask(Task task) {
-    	taskList.remove(task);
+    public static synchronized void deleteTask(Task task) {
+    	// the id index says in O(1) whether the task is in the list; only then is the list touched
+    	Task live = tasksById.remove(task.getId());
+    	if (live != null && taskList.remove(live)) {
+    		unindexTask(live, live.getDeadline());
+    		searchIndex.remove(live);
+    		stats.remove(live);
+    		// a task that was never saved only needs to be forgotten
+    		if (!insertedTasks.remove(live)) {
+    			changedTasks.remove(live);
+    			deletedTaskIds.add(live.getId());
+    		}
+    		if (!latestFilteredTasks.isEmpty()) {
+    			latestFilteredTasks.remove(live);
+    		}
+    		TaskJournal.recordDelete(live);
+    		taskListChanged(new TaskEvent(TaskEvent.Type.DELETED, live, live.getDeadline()));
+    	}
     	taskListModified = true;
     }
+    
+    /**
+     * Adds the task to the deadline bucket matching its deadline and completion state.
+     * 
+     * @param task the task to index
+     */
+    private static void indexTask(Task task) {
+    	if (task.getDeadline() == null) {
+    		return;
+    	}
+    	TreeMap<LocalDate, ArrayList<Task>> index = task.isCompleted() ? completedByDeadline : pendingByDeadline;
+    	index.computeIfAbsent(task.getDeadline(), date -> new ArrayList<>()).add(task);
+    }
+    
+    /**
+     * Removes the task from the deadline bucket it was indexed under.
+     * Empty buckets are dropped so range lookups only visit dates that have tasks.
+     * 
+     * @param task the task to remove from the index
+     * @param deadline the deadline the task was indexed under
+     */
+    private static void unindexTask(Task task, LocalDate deadline) {
+    	if (deadline == null) {
+    		return;
+    	}
+    	TreeMap<LocalDate, ArrayList<Task>> index = task.isCompleted() ? completedByDeadline : pendingByDeadline;
+    	ArrayList<Task> bucket = index.get(deadline);
+    	if (bucket != null) {
+    		bucket.remove(task);
+    		if (bucket.isEmpty()) {
+    			index.remove(deadline);
+    		}
+    	}
+    }
+    
+    /**
+     * Rebuilds the id index from {@code taskList}, after the task list is replaced.
+     */
+    private static void rebuildIdIndex() {
+    	tasksById.clear();
+    	for (Task task : taskList) {
+    		tasksById.put(task.getId(), task);
+    	}
+    }
+    
+    /**
+     * Rebuilds the deadline index from {@code taskList}.
+     * Called after the task list is replaced or reordered so buckets follow the list order.
+     */
+    private static void rebuildDeadlineIndex() {
+    	pendingByDeadline.clear();
+    	completedByDeadline.clear();
+    	for (Task task : taskList) {
+    		indexTask(task);
+    	}
+    }
+    
+    /**
+     * Flattens the buckets of a (sub)index into a single list, in deadline order.
+     * 
+     * @param buckets the deadline buckets to collect
+     * @return a new list holding every task in the given buckets
+     */
+    private static ArrayList<Task> collectBuckets(NavigableMap<LocalDate, ArrayList<Task>> buckets) {
+    	ArrayList<Task> tasks = new ArrayList<>();
+    	for (ArrayList<Task> bucket : buckets.values()) {
+    		tasks.addAll(bucket);
+    	}
+    	return tasks;
+    }
 	
 }
@@ -0,0 +1,34 @@
+package data;
+
+import java.util.ArrayList;
+
+import models.Task;
+
+/**
+ * A {@code TaskRepository} stores the task lists of all users.
+ * <p>
+ * {@code TaskManager} loads a user's tasks once at login and afterwards only hands
+ * the unsaved changes to the repository, so implementations can write just the
+ * affected records.
+ *
+ * @author Labibah Zainab
+ */
+public interface TaskRepository {
+
+	/**
+	 * Loads all tasks of the given user, in list order.
+	 *
+	 * @param username the username of the user
+	 * @return the user's tasks, or {@code null} if the repository could not be read
+	 */
+	ArrayList<Task> loadTasks(String username);
+
+	/**
+	 * Saves the changes made to the given user's tasks since the last save.
+	 *
+	 * @param changes the changes to save
+	 * @param username the username of the user
+	 * @return true if the changes were saved, false if they should be retried later
+	 */
+	boolean saveChanges(TaskChangeSet changes, String username);
+}
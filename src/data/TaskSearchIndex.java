@@ -0,0 +1,255 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import models.Task;
+
+/**
+ * The {@code TaskSearchIndex} is an inverted index over the titles and descriptions of tasks.
+ * <p>
+ * Text is split into lowercase tokens (runs of letters and digits). Each token maps to the tasks
+ * containing it (its postings), weighted so title hits count more than description hits.
+ * To find tokens that merely contain a query word (substring search, like the former
+ * {@code contains} scan), every token of three or more characters is also indexed by its
+ * trigrams; shorter query words are matched against the vocabulary directly.
+ * <p>
+ * The index is updated task by task as tasks are added, edited and deleted, and is not
+ * thread-safe; {@code TaskManager} only uses it while holding its lock.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskSearchIndex {
+	/** weight of a token found in the title */
+	private static final int TITLE_WEIGHT = 3;
+
+	/** weight of a token found in the description */
+	private static final int DESCRIPTION_WEIGHT = 1;
+
+	/** score factors for how well a task token matches a query word */
+	private static final double EXACT_MATCH = 2.0;
+	private static final double PREFIX_MATCH = 1.5;
+	private static final double SUBSTRING_MATCH = 1.0;
+
+	/** token -> tasks containing it, with the task's weight for that token */
+	private final HashMap<String, HashMap<Task, Integer>> postings = new HashMap<>();
+
+	/** trigram -> tokens of the vocabulary containing it */
+	private final HashMap<String, HashSet<String>> tokensByTrigram = new HashMap<>();
+
+	/** task -> the tokens it was indexed under, so it can be removed again */
+	private final HashMap<Task, HashSet<String>> tokensByTask = new HashMap<>();
+
+	/**
+	 * Indexes a task. A task that is already indexed is re-indexed.
+	 *
+	 * @param task the task to index
+	 */
+	public void add(Task task) {
+		remove(task);
+		HashMap<String, Integer> weights = new HashMap<>();
+		for (String token : tokenize(task.getTitle())) {
+			weights.merge(token, TITLE_WEIGHT, Integer::sum);
+		}
+		for (String token : tokenize(task.getDescription())) {
+			weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+		}
+
+		for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+			String token = entry.getKey();
+			HashMap<Task, Integer> tasks = postings.get(token);
+			if (tasks == null) {
+				tasks = new HashMap<>();
+				postings.put(token, tasks);
+				addToVocabulary(token);
+			}
+			tasks.put(task, entry.getValue());
+		}
+		tokensByTask.put(task, new HashSet<>(weights.keySet()));
+	}
+
+	/**
+	 * Re-indexes a task after its title or description changed.
+	 *
+	 * @param task the edited task
+	 */
+	public void update(Task task) {
+		add(task);
+	}
+
+	/**
+	 * Removes a task from the index. Does nothing if the task is not indexed.
+	 *
+	 * @param task the task to remove
+	 */
+	public void remove(Task task) {
+		HashSet<String> tokens = tokensByTask.remove(task);
+		if (tokens == null) {
+			return;
+		}
+		for (String token : tokens) {
+			HashMap<Task, Integer> tasks = postings.get(token);
+			tasks.remove(task);
+			if (tasks.isEmpty()) {
+				postings.remove(token);
+				removeFromVocabulary(token);
+			}
+		}
+	}
+
+	/**
+	 * Removes all tasks from the index.
+	 */
+	public void clear() {
+		postings.clear();
+		tokensByTrigram.clear();
+		tokensByTask.clear();
+	}
+
+	/**
+	 * Rebuilds the index from the given tasks.
+	 *
+	 * @param tasks all tasks to index
+	 */
+	public void rebuild(List<Task> tasks) {
+		clear();
+		for (Task task : tasks) {
+			add(task);
+		}
+	}
+
+	/**
+	 * Finds the tasks whose title or description contains the keyword, ignoring case.
+	 * Every word of the keyword must occur in the task; tasks get a higher score for
+	 * title hits, repeated hits and whole-word or prefix matches.
+	 *
+	 * @param keyword the text to look for
+	 * @return matching tasks with their scores, or {@code null} if the keyword has no
+	 *         letters or digits to look up (the caller should scan the tasks instead)
+	 */
+	public HashMap<Task, Double> search(String keyword) {
+		List<String> words = tokenize(keyword);
+		if (words.isEmpty()) {
+			return null;
+		}
+
+		HashMap<Task, Double> scores = null;
+		for (String word : words) {
+			HashMap<Task, Double> wordScores = new HashMap<>();
+			for (String token : tokensContaining(word)) {
+				double factor = token.equals(word) ? EXACT_MATCH : token.startsWith(word) ? PREFIX_MATCH : SUBSTRING_MATCH;
+				for (Map.Entry<Task, Integer> posting : postings.get(token).entrySet()) {
+					wordScores.merge(posting.getKey(), posting.getValue() * factor, Double::sum);
+				}
+			}
+			if (scores == null) {
+				scores = wordScores;
+			}
+			else {
+				// every word must match
+				scores.keySet().retainAll(wordScores.keySet());
+				for (Map.Entry<Task, Double> entry : scores.entrySet()) {
+					entry.setValue(entry.getValue() + wordScores.get(entry.getKey()));
+				}
+			}
+			if (scores.isEmpty()) {
+				return scores;
+			}
+		}
+
+		// several words (or punctuation) must still appear as one piece of text, as in a plain search
+		if (words.size() > 1 || !words.get(0).equals(keyword.toLowerCase(Locale.ROOT))) {
+			scores.keySet().removeIf(task -> !TaskFilter.containsIgnoreCase(task.getTitle(), keyword)
+					&& !TaskFilter.containsIgnoreCase(task.getDescription(), keyword));
+		}
+		return scores;
+	}
+
+	/**
+	 * Returns the tokens of the vocabulary containing the given word.
+	 */
+	private List<String> tokensContaining(String word) {
+		List<String> tokens = new ArrayList<>();
+		if (word.length() < 3) {
+			for (String token : postings.keySet()) {
+				if (token.contains(word)) {
+					tokens.add(token);
+				}
+			}
+			return tokens;
+		}
+
+		// only tokens having all trigrams of the word can contain it
+		HashSet<String> smallest = null;
+		for (String trigram : trigrams(word)) {
+			HashSet<String> set = tokensByTrigram.get(trigram);
+			if (set == null) {
+				return tokens;
+			}
+			if (smallest == null || set.size() < smallest.size()) {
+				smallest = set;
+			}
+		}
+		for (String token : smallest) {
+			if (token.contains(word)) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	private void addToVocabulary(String token) {
+		for (String trigram : trigrams(token)) {
+			tokensByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(token);
+		}
+	}
+
+	private void removeFromVocabulary(String token) {
+		for (String trigram : trigrams(token)) {
+			HashSet<String> tokens = tokensByTrigram.get(trigram);
+			if (tokens != null) {
+				tokens.remove(token);
+				if (tokens.isEmpty()) {
+					tokensByTrigram.remove(trigram);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the distinct three-character substrings of a token (none for shorter tokens).
+	 */
+	private static HashSet<String> trigrams(String token) {
+		HashSet<String> trigrams = new HashSet<>();
+		for (int i = 0; i + 3 <= token.length(); i++) {
+			trigrams.add(token.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	/**
+	 * Splits text into lowercase runs of letters and digits.
+	 */
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			}
+			else if (!wordChar && start >= 0) {
+				tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+}
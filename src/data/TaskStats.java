@@ -0,0 +1,183 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import models.Task;
+
+/**
+ * The {@code TaskStats} keeps running counts over the task list for the statistics dashboard:
+ * the number of tasks, completed, pending and overdue tasks, completions per day and
+ * incomplete tasks per deadline.
+ * <p>
+ * The counts are updated task by task as tasks are added, changed and deleted, so reading them
+ * does not scan the tasks. Which incomplete tasks are overdue depends on the date; the overdue
+ * count is rolled forward when it is read on a later day, looking only at the deadlines that
+ * passed in between.
+ * <p>
+ * Like the search index, it is not thread-safe; {@code TaskManager} only uses it while holding its lock.
+ *
+ * @author Labibah Zainab
+ */
+public class TaskStats {
+	/** number of tasks */
+	private int total;
+
+	/** number of completed tasks */
+	private int completed;
+
+	/** completion date -> number of tasks completed that day */
+	private final TreeMap<LocalDate, Integer> completionsByDate = new TreeMap<>();
+
+	/** deadline -> number of incomplete tasks due that day */
+	private final TreeMap<LocalDate, Integer> incompleteByDeadline = new TreeMap<>();
+
+	/** number of incomplete tasks due before {@code overdueAsOf} */
+	private int overdue;
+
+	/** the day {@code overdue} was counted for, null if not counted yet */
+	private LocalDate overdueAsOf;
+
+	/**
+	 * Counts a task. Must be called again after the task's completion or deadline changed,
+	 * with {@link #remove(Task)} called before the change.
+	 *
+	 * @param task the task to count
+	 */
+	public void add(Task task) {
+		update(task, 1);
+	}
+
+	/**
+	 * Stops counting a task, as it was when it was added.
+	 *
+	 * @param task the task to remove
+	 */
+	public void remove(Task task) {
+		update(task, -1);
+	}
+
+	/**
+	 * Resets all counts to zero.
+	 */
+	public void clear() {
+		total = 0;
+		completed = 0;
+		completionsByDate.clear();
+		incompleteByDeadline.clear();
+		overdue = 0;
+		overdueAsOf = null;
+	}
+
+	/**
+	 * Counts the given tasks from scratch.
+	 *
+	 * @param tasks all tasks
+	 */
+	public void rebuild(List<Task> tasks) {
+		clear();
+		for (Task task : tasks) {
+			add(task);
+		}
+	}
+
+	private void update(Task task, int delta) {
+		total += delta;
+		if (task.isCompleted()) {
+			completed += delta;
+			if (task.getCompletionDate() != null) {
+				merge(completionsByDate, task.getCompletionDate(), delta);
+			}
+		}
+		else if (task.getDeadline() != null) {
+			merge(incompleteByDeadline, task.getDeadline(), delta);
+			if (overdueAsOf != null && task.getDeadline().isBefore(overdueAsOf)) {
+				overdue += delta;
+			}
+		}
+	}
+
+	private static void merge(TreeMap<LocalDate, Integer> counts, LocalDate date, int delta) {
+		counts.merge(date, delta, (a, b) -> a + b == 0 ? null : a + b);
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Returns the number of incomplete tasks whose deadline is before today.
+	 *
+	 * @param today the current date
+	 * @return the number of overdue tasks
+	 */
+	public int getOverdue(LocalDate today) {
+		if (overdueAsOf == null || today.isBefore(overdueAsOf)) {
+			overdue = sum(incompleteByDeadline.headMap(today, false));
+		}
+		else if (today.isAfter(overdueAsOf)) {
+			// a new day: tasks due since the last count became overdue
+			overdue += sum(incompleteByDeadline.subMap(overdueAsOf, true, today, false));
+		}
+		overdueAsOf = today;
+		return overdue;
+	}
+
+	/**
+	 * Returns the number of incomplete tasks that are not overdue.
+	 *
+	 * @param today the current date
+	 * @return the number of pending tasks
+	 */
+	public int getPending(LocalDate today) {
+		return total - completed - getOverdue(today);
+	}
+
+	/**
+	 * Returns the number of tasks completed between two dates, both inclusive.
+	 *
+	 * @param from the first day
+	 * @param to the last day
+	 * @return the number of tasks completed in the range
+	 */
+	public int getCompletedBetween(LocalDate from, LocalDate to) {
+		return sum(completionsByDate.subMap(from, true, to, true));
+	}
+
+	/**
+	 * Returns the number of incomplete tasks due between two dates, both inclusive.
+	 *
+	 * @param from the first day
+	 * @param to the last day
+	 * @return the number of tasks due in the range
+	 */
+	public int getDueBetween(LocalDate from, LocalDate to) {
+		return sum(incompleteByDeadline.subMap(from, true, to, true));
+	}
+
+	/**
+	 * Returns the completion rate (completed / total) as a percentage.
+	 *
+	 * @return the completion rate, 0 if there are no tasks
+	 */
+	public double getCompletionRate() {
+		if (total == 0) {
+			return 0;
+		}
+		return (completed * 100) / (double) total;
+	}
+
+	private static int sum(Map<LocalDate, Integer> counts) {
+		int sum = 0;
+		for (int count : counts.values()) {
+			sum += count;
+		}
+		return sum;
+	}
+}
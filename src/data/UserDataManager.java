@@ -34,31 +34,31 @@ public class UserDataManager {
 	}
 	
 	 /**
-     * Load all registered users from the Users tab of the Google sheet.
+     * Load all registered users from the user repository
+     * (the Users tab of the Google sheet unless another backend was selected).
      */
 	public static ArrayList<User> loadUsers(){
-		return SheetsServiceUtil.readUsersFromSheets();
+		return Repositories.getUserRepository().loadUsers();
 	}
 	
 	/**
      * Save a new user.
-     * Adds the user to the existing list in Users tab of the Google sheet.
+     * Adds the user to the existing list in the user repository.
      */
 	public static void saveUser(User user) {
-		SheetsServiceUtil.writeUserToSheet(user);
+		Repositories.getUserRepository().saveUser(user);
+		UserDirectory.invalidate();
 	}
 
 	/**
      * Authenticate a user by checking the provided username and password
-     * against the stored list of users.
+     * against the cached user directory.
      * Returns the matched User object or null if not found.
      */
 	public static User authenticateUser(String username, String password) {
-		ArrayList<User> users = loadUsers();
-		for(User u : users) {
-			if (u.getUsername().equals(username) && u.getPassword().equals(password)) {
-				return u;
-			};
+		User user = UserDirectory.find(username);
+		if (user != null && user.getPassword().equals(password)) {
+			return user;
 		}
 		return null;
 	}
@@ -68,13 +68,7 @@ public class UserDataManager {
      * Useful during signup to prevent duplicate usernames.
      */
 	public static boolean userExists(String username) {
-		ArrayList<User> users = loadUsers();
-		for(User u : users) {
-			if (u.getUsername().equals(username)) {
-				return true;
-			};
-		}
-		return false;
+		return UserDirectory.find(username) != null;
 	}
 	
 	/**
@@ -112,6 +106,18 @@ public class UserDataManager {
 	 * to null, and isLoggedIn is set as false
 	 */
 	public static void loadUserLoggedIn() {
+		User savedUser = readSavedUser();
+		userLoggedIn = savedUser == null ? null : authenticateUser(savedUser.getUsername(), savedUser.getPassword());
+		isLoggedIn = userLoggedIn != null;
+	}
+	
+	/**
+	 * Returns the credentials of the user who was logged in when the app was closed, as saved on
+	 * this computer, without checking them against the user repository.
+	 * 
+	 * @return the saved username and password, or null if the user logged out before closing the app
+	 */
+	public static User readSavedUser() {
 		File file = new File(CONFIG_PATH);
 		if(file.exists()) {
 			try(FileInputStream fis = new FileInputStream(file)){
@@ -119,22 +125,13 @@ public class UserDataManager {
 				props.load(fis);
 				String username = props.getProperty("username");
 				String password = props.getProperty("password");
-				if (username != null) {
-					isLoggedIn = userExists(username);
-					if (isLoggedIn) {
-						userLoggedIn = authenticateUser(username, password);
-					}
-				}
-				else {
-					isLoggedIn = false;
-					userLoggedIn = null;
+				if (username != null && !username.isEmpty()) {
+					return new User(username, password);
 				}
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
-		} else {
-			isLoggedIn = false;
-			userLoggedIn = null;
 		}
+		return null;
 	}
 }
@@ -0,0 +1,66 @@
+package data;
+
+import java.util.HashMap;
+
+import models.User;
+
+/**
+ * The {@code UserDirectory} keeps the registered users in memory, hashed by username,
+ * so login and signup do not download and scan the whole user list for every check.
+ * <p>
+ * The directory is fetched from the user repository when first needed and again once it is
+ * older than {@value #TTL_MILLIS} ms. A username that is not found triggers one early refetch
+ * (at most every {@value #MISS_REFRESH_MILLIS} ms), so users who just signed up on another
+ * device can log in right away. Saving a user invalidates the directory.
+ *
+ * @author Labibah Zainab
+ */
+public class UserDirectory {
+	/** how long a fetched directory is used before it is fetched again */
+	public static final long TTL_MILLIS = 5 * 60 * 1000;
+
+	/** shortest time between two fetches caused by unknown usernames */
+	public static final long MISS_REFRESH_MILLIS = 5 * 1000;
+
+	/** users by username, null if not fetched yet or invalidated */
+	private static HashMap<String, User> usersByName;
+
+	/** when {@code usersByName} was fetched, as {@code System.currentTimeMillis()} */
+	private static long fetchedAt;
+
+	/**
+	 * Returns the user with the given username.
+	 *
+	 * @param username the username to look up
+	 * @return the user, or {@code null} if no such user is registered
+	 */
+	public static synchronized User find(String username) {
+		long now = System.currentTimeMillis();
+		if (usersByName == null || now - fetchedAt > TTL_MILLIS) {
+			fetch(now);
+		}
+		User user = usersByName.get(username);
+		if (user == null && now - fetchedAt > MISS_REFRESH_MILLIS) {
+			fetch(now);
+			user = usersByName.get(username);
+		}
+		return user;
+	}
+
+	/**
+	 * Forgets the fetched users, so the next lookup fetches them again.
+	 */
+	public static synchronized void invalidate() {
+		usersByName = null;
+	}
+
+	private static void fetch(long now) {
+		HashMap<String, User> users = new HashMap<>();
+		for (User user : Repositories.getUserRepository().loadUsers()) {
+			// the first row of a username wins, as with the former linear scan
+			users.putIfAbsent(user.getUsername(), user);
+		}
+		usersByName = users;
+		fetchedAt = now;
+	}
+}
@@ -0,0 +1,27 @@
+package data;
+
+import java.util.ArrayList;
+
+import models.User;
+
+/**
+ * A {@code UserRepository} stores the registered users and their passwords.
+ *
+ * @author Labibah Zainab
+ */
+public interface UserRepository {
+
+	/**
+	 * Loads all registered users.
+	 *
+	 * @return the users, empty if there are none or the repository could not be read
+	 */
+	ArrayList<User> loadUsers();
+
+	/**
+	 * Adds a new user.
+	 *
+	 * @param user the user to add
+	 */
+	void saveUser(User user);
+}
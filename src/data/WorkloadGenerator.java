@@ -0,0 +1,227 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+import models.PriorityLevel;
+import models.Task;
+import models.User;
+
+/**
+ * The {@code WorkloadGenerator} creates synthetic users and tasks for benchmarks and load runs.
+ * <p>
+ * Deadlines are spread around a reference date ("today") following a {@link DeadlineDistribution},
+ * priorities follow configurable weights, and a configurable share of the tasks due before today
+ * is completed (tasks due later are completed half as often, like in real task lists).
+ * The same seed always produces the same users and tasks.
+ *
+ * @author Labibah Zainab
+ */
+public class WorkloadGenerator {
+	/**
+	 * How deadlines are spread around today.
+	 */
+	public enum DeadlineDistribution {
+		/** every day from {@code pastDays} ago to {@code futureDays} ahead is equally likely */
+		UNIFORM,
+
+		/** most deadlines are in the next few days or just passed, fewer the further away */
+		NEAR_TODAY,
+
+		/** a backlog: most deadlines have already passed */
+		MOSTLY_PAST
+	}
+
+	/** words titles and descriptions are made of, so searches find tasks */
+	public static final String[] WORDS = {
+			"calculus", "physics", "essay", "lab report", "reading", "quiz", "project", "exam",
+			"homework", "chemistry", "history", "presentation", "flashcards", "revision"
+	};
+
+	/** source of randomness */
+	private final Random random;
+
+	/** the date deadlines are spread around */
+	private final LocalDate today;
+
+	/** how deadlines are spread around today */
+	private DeadlineDistribution deadlineDistribution = DeadlineDistribution.NEAR_TODAY;
+
+	/** deadlines are at most this many days in the past */
+	private int pastDays = 60;
+
+	/** deadlines are at most this many days ahead */
+	private int futureDays = 60;
+
+	/** relative weights of the priority levels, in {@code PriorityLevel} order */
+	private int[] priorityWeights = {2, 5, 3};
+
+	/** share of tasks due before today that are completed */
+	private double completionRate = 0.5;
+
+	/** number of users created so far, used for unique usernames */
+	private int usersCreated;
+
+	/** number of tasks created so far, used for unique titles */
+	private int tasksCreated;
+
+	/**
+	 * Creates a generator with the default distributions.
+	 *
+	 * @param seed the seed of the random numbers
+	 * @param today the date deadlines are spread around
+	 */
+	public WorkloadGenerator(long seed, LocalDate today) {
+		this.random = new Random(seed);
+		this.today = today;
+	}
+
+	/**
+	 * Sets how deadlines are spread and how far they reach.
+	 *
+	 * @param distribution the deadline distribution
+	 * @param pastDays the most days a deadline is in the past
+	 * @param futureDays the most days a deadline is ahead
+	 */
+	public void setDeadlineDistribution(DeadlineDistribution distribution, int pastDays, int futureDays) {
+		this.deadlineDistribution = distribution;
+		this.pastDays = pastDays;
+		this.futureDays = futureDays;
+	}
+
+	/**
+	 * Sets the relative weights of the priority levels, e.g. 1, 1, 1 for an even mix.
+	 *
+	 * @param high weight of {@code HIGH}
+	 * @param medium weight of {@code MEDIUM}
+	 * @param low weight of {@code LOW}
+	 */
+	public void setPriorityWeights(int high, int medium, int low) {
+		if (high < 0 || medium < 0 || low < 0 || high + medium + low == 0) {
+			throw new IllegalArgumentException("Priority weights must not be negative or all zero");
+		}
+		this.priorityWeights = new int[] {high, medium, low};
+	}
+
+	/**
+	 * Sets the share of tasks due before today that are completed.
+	 * Tasks due today or later are completed half as often.
+	 *
+	 * @param completionRate a number from 0 to 1
+	 */
+	public void setCompletionRate(double completionRate) {
+		if (completionRate < 0 || completionRate > 1) {
+			throw new IllegalArgumentException("Completion rate must be between 0 and 1: " + completionRate);
+		}
+		this.completionRate = completionRate;
+	}
+
+	public Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * Creates users with unique usernames starting with the given prefix.
+	 *
+	 * @param count the number of users
+	 * @param prefix the start of every username
+	 * @return the users
+	 */
+	public ArrayList<User> generateUsers(int count, String prefix) {
+		ArrayList<User> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			usersCreated++;
+			users.add(new User(prefix + usersCreated, "pass" + random.nextInt(10_000)));
+		}
+		return users;
+	}
+
+	/**
+	 * Creates tasks following the configured distributions.
+	 *
+	 * @param count the number of tasks
+	 * @return the tasks, in no particular order
+	 */
+	public ArrayList<Task> generateTasks(int count) {
+		ArrayList<Task> tasks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			tasks.add(generateTask());
+		}
+		return tasks;
+	}
+
+	/**
+	 * Creates one task following the configured distributions.
+	 *
+	 * @return the task
+	 */
+	public Task generateTask() {
+		tasksCreated++;
+		LocalDate deadline = today.plusDays(nextDeadlineOffset());
+		Task task = new Task("Task " + tasksCreated + " " + nextWord(), "Study " + nextWord() + " and " + nextWord(),
+				deadline, nextPriorityLevel());
+		if (random.nextDouble() < completionChance(deadline)) {
+			task.setCompleted(true);
+			// most tasks are done a little early, some late; never after today
+			LocalDate completed = deadline.plusDays(random.nextInt(6) - 4);
+			task.setCompletionDate(completed.isAfter(today) ? today : completed);
+		}
+		return task;
+	}
+
+	/**
+	 * Returns a random word of {@link #WORDS}, e.g. to search for.
+	 */
+	public String nextWord() {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	/**
+	 * Returns a random priority level following the configured weights.
+	 */
+	public PriorityLevel nextPriorityLevel() {
+		int total = 0;
+		for (int weight : priorityWeights) {
+			total += weight;
+		}
+		int pick = random.nextInt(total);
+		PriorityLevel[] levels = PriorityLevel.values();
+		for (int i = 0; i < levels.length; i++) {
+			pick -= priorityWeights[i];
+			if (pick < 0) {
+				return levels[i];
+			}
+		}
+		return levels[levels.length - 1];
+	}
+
+	/**
+	 * Returns a random deadline, as days from today, following the configured distribution.
+	 */
+	public int nextDeadlineOffset() {
+		switch (deadlineDistribution) {
+		case NEAR_TODAY:
+			// exponential fall-off with a mean of a week either way, cut at the range
+			boolean past = random.nextInt(3) == 0; // one in three just passed
+			int limit = past ? pastDays : futureDays;
+			int days = (int) Math.min(limit, -7 * Math.log(1 - random.nextDouble()));
+			return past ? -days : days;
+		case MOSTLY_PAST:
+			if (random.nextInt(5) == 0) {
+				return random.nextInt(futureDays + 1);
+			}
+			return -1 - random.nextInt(Math.max(pastDays, 1));
+		case UNIFORM:
+		default:
+			return random.nextInt(pastDays + futureDays + 1) - pastDays;
+		}
+	}
+
+	/**
+	 * Returns the chance that a task with the given deadline is completed.
+	 */
+	private double completionChance(LocalDate deadline) {
+		return deadline.isBefore(today) ? completionRate : completionRate / 2;
+	}
+}
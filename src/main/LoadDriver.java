@@ -0,0 +1,249 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import controllers.UserController;
+import data.CallTimings;
+import data.LocalTaskRepository;
+import data.LocalTaskStore;
+import data.LocalUserRepository;
+import data.Repositories;
+import data.TaskManager;
+import data.UserDataManager;
+import data.WorkloadGenerator;
+import data.WorkloadGenerator.DeadlineDistribution;
+import models.AppClock;
+import models.Task;
+import models.User;
+
+/**
+ * Headless load driver: creates synthetic users and tasks with the {@code WorkloadGenerator},
+ * stores them in the local repositories, then logs each user in and runs a mix of task changes,
+ * searches and statistics queries the way the views do, and reports the throughput and the
+ * latency percentiles of every operation.
+ * <p>
+ * Nothing is shown and no network is used. Options are given as {@code name=value}, e.g.
+ * <pre>
+ * java -cp ... main.LoadDriver users=20 tasks=5000 operations=2000 distribution=MOSTLY_PAST
+ * </pre>
+ * <ul>
+ * <li>{@code users} number of users (default 10)</li>
+ * <li>{@code tasks} tasks stored per user before the run (default 2000)</li>
+ * <li>{@code operations} operations per login (default 1000)</li>
+ * <li>{@code rounds} how many times each user logs in (default 2; later logins start from the local snapshot)</li>
+ * <li>{@code distribution} UNIFORM, NEAR_TODAY or MOSTLY_PAST (default NEAR_TODAY)</li>
+ * <li>{@code priorities} weights of high, medium and low priority, e.g. 1,1,1 (default 2,5,3)</li>
+ * <li>{@code completion} share of past tasks that are completed (default 0.5)</li>
+ * <li>{@code seed} seed of the random numbers (default 1)</li>
+ * <li>{@code dir} directory of the local repositories (default config/load)</li>
+ * </ul>
+ * The users' journals and snapshots are written to {@code config/journal} and {@code config/store}
+ * like the app's; the usernames start with "load" and the time of the run.
+ *
+ * @author Labibah Zainab
+ */
+public class LoadDriver {
+	/** operations and their relative weights in the mix */
+	private static final String[] OPERATIONS = {"add", "edit", "complete", "delete", "search", "stats"};
+	private static final int[] OPERATION_WEIGHTS = {15, 20, 15, 5, 30, 15};
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		Map<String, String> options = parseOptions(args);
+		int users = Integer.parseInt(options.getOrDefault("users", "10"));
+		int tasksPerUser = Integer.parseInt(options.getOrDefault("tasks", "2000"));
+		int operations = Integer.parseInt(options.getOrDefault("operations", "1000"));
+		int rounds = Integer.parseInt(options.getOrDefault("rounds", "2"));
+		String dir = options.getOrDefault("dir", "config/load");
+
+		WorkloadGenerator generator = new WorkloadGenerator(Long.parseLong(options.getOrDefault("seed", "1")), AppClock.today());
+		generator.setDeadlineDistribution(DeadlineDistribution.valueOf(options.getOrDefault("distribution", "NEAR_TODAY")), 60, 60);
+		String[] weights = options.getOrDefault("priorities", "2,5,3").split(",");
+		generator.setPriorityWeights(Integer.parseInt(weights[0].trim()), Integer.parseInt(weights[1].trim()), Integer.parseInt(weights[2].trim()));
+		generator.setCompletionRate(Double.parseDouble(options.getOrDefault("completion", "0.5")));
+
+		Repositories.use(new LocalTaskRepository(dir + "/tasks"), new LocalUserRepository(dir + "/users.properties"));
+
+		// seed the repositories
+		long start = System.nanoTime();
+		ArrayList<User> generatedUsers = generator.generateUsers(users, "load" + System.currentTimeMillis() + "-");
+		for (User user : generatedUsers) {
+			UserDataManager.saveUser(user);
+			LocalTaskStore.write(dir + "/tasks", user.getUsername(), generator.generateTasks(tasksPerUser));
+		}
+		System.out.printf("Seeded %d users with %d tasks each in %.1f s%n", users, tasksPerUser, (System.nanoTime() - start) / 1e9);
+
+		// run the mix
+		Map<String, Latencies> latencies = new LinkedHashMap<>();
+		for (String name : new String[] {"login", "logout"}) {
+			latencies.put(name, new Latencies());
+		}
+		for (String name : OPERATIONS) {
+			latencies.put(name, new Latencies());
+		}
+		Random random = generator.getRandom();
+		long runStart = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			for (User user : generatedUsers) {
+				long opStart = System.nanoTime();
+				if (!UserController.login(user.getUsername(), user.getPassword())) {
+					System.out.println("Login failed for " + user.getUsername());
+					continue;
+				}
+				latencies.get("login").add(System.nanoTime() - opStart);
+
+				for (int i = 0; i < operations; i++) {
+					String operation = pickOperation(random);
+					opStart = System.nanoTime();
+					runOperation(operation, generator, random);
+					latencies.get(operation).add(System.nanoTime() - opStart);
+				}
+
+				opStart = System.nanoTime();
+				UserController.logout();
+				latencies.get("logout").add(System.nanoTime() - opStart);
+			}
+		}
+		double seconds = (System.nanoTime() - runStart) / 1e9;
+
+		printReport(latencies, seconds);
+		CallTimings.printSummary();
+		System.exit(0);
+	}
+
+	/**
+	 * Runs one operation of the mix against the logged in user's tasks.
+	 */
+	private static void runOperation(String operation, WorkloadGenerator generator, Random random) {
+		switch (operation) {
+		case "add":
+			TaskManager.addTask(generator.generateTask());
+			break;
+		case "edit":
+			Task edited = pickTask(random);
+			if (edited != null) {
+				TaskManager.editTask(edited, edited.getTitle(), "Review " + generator.nextWord(),
+						generator.nextPriorityLevel(), AppClock.today().plusDays(generator.nextDeadlineOffset()));
+			}
+			break;
+		case "complete":
+			Task toggled = pickTask(random);
+			if (toggled != null) {
+				TaskManager.setTaskComplete(toggled, !toggled.isCompleted());
+			}
+			break;
+		case "delete":
+			Task deleted = pickTask(random);
+			if (deleted != null) {
+				TaskManager.deleteTask(deleted);
+			}
+			break;
+		case "search":
+			// a keyword with a random status filter, as in the search view
+			TaskManager.setFilteredTasks(generator.nextWord(), null, random.nextInt(10));
+			break;
+		case "stats":
+			// the numbers and the overdue chart of the statistics view
+			TaskManager.getNumTasksCompletedToday();
+			TaskManager.getNumTasksCompletedThisWeek();
+			TaskManager.getNumPendingTasks();
+			TaskManager.getNumOverdueTasks();
+			TaskManager.getCompletionRate();
+			TaskManager.getOverdueHistory(30);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown operation: " + operation);
+		}
+	}
+
+	/**
+	 * Returns a random task of the logged in user, or null if there are none.
+	 */
+	private static Task pickTask(Random random) {
+		synchronized (TaskManager.class) {
+			ArrayList<Task> tasks = TaskManager.getTasks();
+			return tasks.isEmpty() ? null : tasks.get(random.nextInt(tasks.size()));
+		}
+	}
+
+	private static String pickOperation(Random random) {
+		int total = Arrays.stream(OPERATION_WEIGHTS).sum();
+		int pick = random.nextInt(total);
+		for (int i = 0; i < OPERATIONS.length; i++) {
+			pick -= OPERATION_WEIGHTS[i];
+			if (pick < 0) {
+				return OPERATIONS[i];
+			}
+		}
+		return OPERATIONS[OPERATIONS.length - 1];
+	}
+
+	/**
+	 * Parses {@code name=value} arguments.
+	 */
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (equals < 1) {
+				throw new IllegalArgumentException("Expected name=value, got: " + arg);
+			}
+			options.put(arg.substring(0, equals), arg.substring(equals + 1));
+		}
+		return options;
+	}
+
+	/**
+	 * Prints one line per operation: number of calls, calls per second of the whole run,
+	 * and the 50th, 90th and 99th percentile and the slowest latency.
+	 */
+	private static void printReport(Map<String, Latencies> latencies, double seconds) {
+		long total = 0;
+		System.out.println("Operation      calls    ops/s   p50 ms   p90 ms   p99 ms   max ms");
+		for (Map.Entry<String, Latencies> entry : latencies.entrySet()) {
+			Latencies latency = entry.getValue();
+			total += latency.size;
+			System.out.printf("%-10s %9d %8.0f %8.3f %8.3f %8.3f %8.3f%n", entry.getKey(), latency.size,
+					latency.size / seconds, latency.percentile(50), latency.percentile(90),
+					latency.percentile(99), latency.percentile(100));
+		}
+		System.out.printf("%d operations in %.1f s (%.0f ops/s)%n", total, seconds, total / seconds);
+	}
+
+	/**
+	 * Latencies of one operation, in nanoseconds.
+	 */
+	private static class Latencies {
+		private long[] samples = new long[1024];
+		private int size;
+		private boolean sorted;
+
+		private void add(long nanos) {
+			if (size == samples.length) {
+				samples = Arrays.copyOf(samples, size * 2);
+			}
+			samples[size++] = nanos;
+			sorted = false;
+		}
+
+		/**
+		 * Returns the given percentile in milliseconds (nearest rank), 0 if there are no samples.
+		 */
+		private double percentile(double percent) {
+			if (size == 0) {
+				return 0;
+			}
+			if (!sorted) {
+				Arrays.sort(samples, 0, size);
+				sorted = true;
+			}
+			int rank = (int) Math.ceil(percent / 100 * size);
+			return samples[Math.max(rank, 1) - 1] / 1_000_000.0;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package main;
+
+import data.CallTimings;
+import data.SheetsServiceUtil;
+
+/**
+ * One-time migration: moves every user's tasks from the former shared "Tasks" tab of the
+ * Google Sheet to a tab of their own, and records the tabs in the "Directory" tab.
+ * <p>
+ * Users are also moved one by one when their tasks are first loaded, so running this is optional;
+ * it only saves the first login of each user the move. Running it again moves nobody.
+ *
+ * @author Labibah Zainab
+ */
+public class MigrateTaskPartitions {
+	public static void main(String[] args) {
+		try {
+			int migrated = SheetsServiceUtil.migrateTasksToPartitions();
+			System.out.println("Moved the tasks of " + migrated + " users to their own tabs");
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+		CallTimings.printSummary();
+		System.exit(0);
+	}
+}
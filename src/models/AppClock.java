@@ -0,0 +1,133 @@
+package models;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code AppClock} is the app's shared source of the current date.
+ * <p>
+ * Today's date is computed once and cached; a background tick updates it at midnight and
+ * then tells the registered listeners, so date-dependent values (like task statuses) can be
+ * cached for the day instead of reading the system clock on every call.
+ * <p>
+ * All date-dependent code asks this class instead of calling {@code LocalDate.now()}, so tests,
+ * benchmarks and load runs can fix the date with {@link #useFixedDate(LocalDate)} or supply
+ * their own {@link Clock}.
+ *
+ * @author Labibah Zainab
+ */
+public class AppClock {
+	/** longest wait between two checks for a new day, so waking from sleep past midnight is noticed soon */
+	private static final long MAX_TICK_DELAY_MILLIS = 60_000;
+
+	/** the clock the date is read from, the system clock in the default time zone unless replaced */
+	private static volatile Clock clock = Clock.systemDefaultZone();
+
+	/** today's date, updated by the midnight tick */
+	private static volatile LocalDate today = LocalDate.now(clock);
+
+	/** actions run when the date changes */
+	private static final CopyOnWriteArrayList<Runnable> dayChangeListeners = new CopyOnWriteArrayList<>();
+
+	/** runs the midnight tick on a daemon thread */
+	private static final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "app-clock");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		scheduleTick();
+	}
+
+	/**
+	 * Returns today's date. Cheap enough to call for every task in a loop.
+	 */
+	public static LocalDate today() {
+		return today;
+	}
+
+	/**
+	 * Returns the clock the date is read from.
+	 */
+	public static Clock getClock() {
+		return clock;
+	}
+	
+	/**
+	 * Replaces the clock the date is read from, e.g. with a fixed or offset clock in tests.
+	 * The listeners are told if the date changes.
+	 *
+	 * @param newClock the clock to use
+	 */
+	public static void setClock(Clock newClock) {
+		clock = newClock;
+		tick(false);
+	}
+	
+	/**
+	 * Fixes today's date, e.g. for tests and benchmarks that depend on which tasks are overdue.
+	 *
+	 * @param date the date to use as today
+	 */
+	public static void useFixedDate(LocalDate date) {
+		setClock(Clock.fixed(date.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+	}
+	
+	/**
+	 * Goes back to the system clock.
+	 */
+	public static void useSystemClock() {
+		setClock(Clock.systemDefaultZone());
+	}
+	
+	/**
+	 * Registers an action to run after the date changed, on the ticker's background thread
+	 * at midnight (or on the thread replacing the clock).
+	 *
+	 * @param listener the action to run
+	 */
+	public static void addDayChangeListener(Runnable listener) {
+		dayChangeListeners.add(listener);
+	}
+
+	/**
+	 * Schedules the next check for a new day, at midnight or sooner.
+	 */
+	private static void scheduleTick() {
+		ZonedDateTime now = ZonedDateTime.now(clock);
+		long untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(now.getZone())).toMillis();
+		untilMidnight = Math.max(untilMidnight, 1); // exactly at midnight, tick right away
+		ticker.schedule(() -> tick(true), Math.min(untilMidnight, MAX_TICK_DELAY_MILLIS), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Updates today's date and tells the listeners if it changed.
+	 *
+	 * @param scheduled true if run by the ticker, which then schedules the next tick
+	 */
+	private static synchronized void tick(boolean scheduled) {
+		try {
+			LocalDate now = LocalDate.now(clock);
+			if (!now.equals(today)) {
+				today = now;
+				for (Runnable listener : dayChangeListeners) {
+					listener.run();
+				}
+			}
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		} finally {
+			if (scheduled) {
+				scheduleTick();
+			}
+		}
+	}
+}
@@ -3,9 +3,11 @@ package models;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 public class Task{
 
+	private final String id;
 	private String title;
 	private String description;
 	private LocalDate deadline;
@@ -13,7 +15,20 @@ public class Task{
 	private boolean isCompleted;
 	private LocalDate completionDate;
 	
+	/** the status as of a day, reused until the day changes or the task is completed or rescheduled */
+	private volatile CachedStatus cachedStatus;
+	
 	public Task(String title, String description, LocalDate deadline, PriorityLevel level) {
+		this(UUID.randomUUID().toString(), title, description, deadline, level);
+	}
+	
+	/**
+	 * Creates a task with a known id, e.g. when it is loaded from storage.
+	 * 
+	 * @param id the stable unique id of the task
+	 */
+	public Task(String id, String title, String description, LocalDate deadline, PriorityLevel level) {
+		this.id = id;
 		this.setCompleted(false);
 		this.setTitle(title);
 		this.setDescription(description);
@@ -32,21 +47,65 @@ public class Task{
 	 * @return human-readable status of the task
 	 */
 	public String getStatus() {
+		return getStatus(AppClock.today());
+	}
+	
+	/**
+	 * Returns the task's status as of the given date (see {@link #getStatus()}).
+	 * Lets callers checking many tasks use the same date for all of them.
+	 *
+	 * @param today the date to compute the status for
+	 * @return human-readable status of the task
+	 */
+	public String getStatus(LocalDate today) {
+		return statusOn(today).text;
+	}
+	
+	/**
+	 * Returns the task's status as of today, e.g. to tell overdue tasks apart.
+	 */
+	public TaskStatus getTaskStatus() {
+		return statusOn(AppClock.today()).status;
+	}
+	
+	/**
+	 * Returns the task's status as of the given date, computed once per date
+	 * and kept until the task is completed or its deadline changes.
+	 */
+	private CachedStatus statusOn(LocalDate today) {
+		CachedStatus cached = cachedStatus;
+		if (cached == null || !cached.day.equals(today) || cached.deadline != deadline || cached.completed != isCompleted) {
+			TaskStatus status = computeStatus(today);
+			String text = status.getText() != null ? status.getText()
+					: "Due in " + ChronoUnit.DAYS.between(today, deadline) + " days";
+			cached = new CachedStatus(today, deadline, isCompleted, status, text);
+			cachedStatus = cached;
+		}
+		return cached;
+	}
+	
+	private TaskStatus computeStatus(LocalDate today) {
 		if (isCompleted) {
-			return "Completed!";
+			return TaskStatus.COMPLETED;
 		}
-		LocalDate today = LocalDate.now();
 		if(deadline.isBefore(today)) {
-			return "Overdue!";
+			return TaskStatus.OVERDUE;
 		}
 		else if(deadline.isEqual(today)) {
-			return "Due today";
+			return TaskStatus.DUE_TODAY;
 		}
-		long days = ChronoUnit.DAYS.between(today, deadline);
-		if (days == 1) {
-			return "Due tomorrow";
+		else if (deadline.isEqual(today.plusDays(1))) {
+			return TaskStatus.DUE_TOMORROW;
 		}
-		return "Due in " + days + " days";
+		return TaskStatus.DUE_LATER;
+	}
+
+	/**
+	 * Returns the stable unique id of this task. The id never changes and is
+	 * used to address the task's row in storage.
+	 */
+	public String getId() {
+		return id;
 	}
 
 	public String getTitle() {
@@ -100,7 +159,7 @@ public class Task{
 	public void setCompleted(boolean isCompleted) {
 		this.isCompleted = isCompleted;
 		if(isCompleted) {
-			this.completionDate = LocalDate.now(); // mark when completed
+			this.completionDate = AppClock.today(); // mark when completed
 		}
 		else {
 			this.completionDate = null;
@@ -110,4 +169,58 @@ public class Task{
 	public LocalDate getCompletionDate() {
 		return completionDate;
 	}
+	
+	/**
+	 * Sets the date the task was completed, e.g. when restoring a saved task.
+	 * 
+	 * @param completionDate the completion date, or null if not completed
+	 */
+	public void setCompletionDate(LocalDate completionDate) {
+		this.completionDate = completionDate;
+	}
+	
+	/**
+	 * Returns a copy of this task with the same id and field values.
+	 */
+	public Task copy() {
+		Task copy = new Task(id, title, description, deadline, priorityLevel);
+		copy.isCompleted = isCompleted;
+		copy.completionDate = completionDate;
+		return copy;
+	}
+	
+	/**
+	 * Two tasks are equal if they have the same id, e.g. a task and its copy.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		return other instanceof Task && id.equals(((Task) other).id);
+	}
+	
+	@Override
+	public int hashCode() {
+		return id.hashCode();
+	}
+	
+	/**
+	 * A task's status as of one day, with its text and the deadline and completion it was computed from.
+	 */
+	private static final class CachedStatus {
+		private final LocalDate day;
+		private final LocalDate deadline;
+		private final boolean completed;
+		private final TaskStatus status;
+		private final String text;
+		
+		private CachedStatus(LocalDate day, LocalDate deadline, boolean completed, TaskStatus status, String text) {
+			this.day = day;
+			this.deadline = deadline;
+			this.completed = completed;
+			this.status = status;
+			this.text = text;
+		}
+	}
 }
@@ -0,0 +1,38 @@
+package models;
+
+/**
+ * The status of a task on a given day, as shown next to the task.
+ * <p>
+ * {@code Task} caches its status, so checking many tasks (e.g. for the pending
+ * or overdue lists) compares enum values instead of computing and comparing strings.
+ */
+public enum TaskStatus {
+	/** the task is done */
+	COMPLETED("Completed!"),
+
+	/** the deadline has passed and the task is not done */
+	OVERDUE("Overdue!"),
+
+	/** the task is due today */
+	DUE_TODAY("Due today"),
+
+	/** the task is due tomorrow */
+	DUE_TOMORROW("Due tomorrow"),
+
+	/** the task is due in two or more days; the text includes the number of days */
+	DUE_LATER(null);
+
+	/** text shown for the status, null if it depends on the deadline */
+	private final String text;
+
+	private TaskStatus(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * Returns the text shown for the status, or null for {@code DUE_LATER}, whose text is "Due in X days".
+	 */
+	public String getText() {
+		return text;
+	}
+}
@@ -12,7 +12,7 @@ public class BackButton extends IconOnlyButton{
 	JPanel mainContent;
 	
 	public BackButton(JPanel mainContent) {
-		super("Go back to calendar", new ImageIcon("Resources/icons/back_arrow-64.png"));
+		super("Go back to calendar", IconCache.get("back_arrow-64.png"));
 		this.mainContent = mainContent;
 		JPopupMenu options = generatePopup();
 		this.addActionListener(e -> {
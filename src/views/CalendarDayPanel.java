@@ -8,9 +8,9 @@ import java.awt.GridLayout;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
@@ -21,8 +21,12 @@ import javax.swing.SwingConstants;
 
 import controllers.TaskController;
 import controllers.ThemeController;
+import data.MonthSummary;
+import data.PersistenceExecutor;
+import data.TaskBatch;
 import data.TaskManager;
 import data.ThemeManager;
+import models.AppClock;
 import models.Task;
 import models.UserSession;
 
@@ -37,18 +41,28 @@ public class CalendarDayPanel extends JPanel {
 	private final int dayOfMonth;
 	private JPanel mainContent;
 	
+	/** whether the panel is in month view (dots) or week view (task titles) */
+	private final boolean isMonth;
+	
+	/** the component showing the day's tasks, replaced when they change */
+	private JPanel tasksPanel;
+	
+	/** scroll pane around the task titles in week view */
+	private JScrollPane scrollPane;
+	
 	 /**
      * Constructs a day panel for a specific day in a calendar.
      *
      * @param dayOfMonth the day number
-     * @param currentMonth the month-year of the calendar
+     * @param month the summary of the day's month, holding the tasks to show
      * @param mainContent the main panel to update when actions are triggered
      * @param isMonth whether the panel is in month or week view, true if month view, false if week view
      */
-	public CalendarDayPanel(int day, YearMonth currentMonth, JPanel mainContent, boolean isMonth){
+	public CalendarDayPanel(int day, MonthSummary month, JPanel mainContent, boolean isMonth){
 		this.dayOfMonth = day;
-		this.currentMonth = currentMonth;
+		this.currentMonth = month.getMonth();
 		this.mainContent = mainContent;
+		this.isMonth = isMonth;
 		this.setLayout(new BorderLayout());
 		
 		this.setBackground(ThemeManager.getCalendarDayPanelColor()); 
@@ -57,26 +71,53 @@ public class CalendarDayPanel extends JPanel {
 		this.add(topPanel, BorderLayout.NORTH);
 		
 		if (isMonth) {
-			JPanel dotsPanel = generateDotsPanel(day);
-			this.add(dotsPanel, BorderLayout.CENTER);
+			tasksPanel = generateDotsPanel(month.getPendingTasks(day), month.getCompletedTasks(day));
+			this.add(tasksPanel, BorderLayout.CENTER);
 			// highlight today
-			if(LocalDate.now().equals(LocalDate.of(currentMonth.getYear(), currentMonth.getMonth(), dayOfMonth))) {
+			if(AppClock.today().equals(LocalDate.of(currentMonth.getYear(), currentMonth.getMonth(), dayOfMonth))) {
 				this.setBackground(new Color(0xd6befa)); // lavender
 			}
 		}
 		else {
-			JPanel taskTitleListPanel = generateTaskTitleListPanel(mainContent);
-			JScrollPane scrollPane = new JScrollPane(taskTitleListPanel);
+			tasksPanel = generateTaskTitleListPanel(mainContent, month.getPendingTasks(day), month.getCompletedTasks(day));
+			scrollPane = new JScrollPane(tasksPanel);
 			scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
 			scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
 			// highlight today
-			if(LocalDate.now().equals(LocalDate.of(currentMonth.getYear(), currentMonth.getMonth(), dayOfMonth))) {
+			if(AppClock.today().equals(LocalDate.of(currentMonth.getYear(), currentMonth.getMonth(), dayOfMonth))) {
 				topPanel.setBackground(new Color(0xd6befa)); // lavender
 			}
 			this.add(scrollPane, BorderLayout.CENTER);
 		}
 	}
 	
+	/**
+	 * Returns the date this panel shows.
+	 */
+	public LocalDate getDate() {
+		return currentMonth.atDay(dayOfMonth);
+	}
+	
+	/**
+	 * Redraws only the day's tasks (dots or task titles), after tasks due on this day changed.
+	 */
+	public void refreshTasks() {
+		LocalDate date = getDate();
+		ArrayList<Task> tasks = TaskManager.getTasksOnDate(date);
+		ArrayList<Task> completedTasks = TaskManager.getCompletedTasksOnDate(date);
+		if (isMonth) {
+			this.remove(tasksPanel);
+			tasksPanel = generateDotsPanel(tasks, completedTasks);
+			this.add(tasksPanel, BorderLayout.CENTER);
+		}
+		else {
+			tasksPanel = generateTaskTitleListPanel(mainContent, tasks, completedTasks);
+			scrollPane.setViewportView(tasksPanel);
+		}
+		this.revalidate();
+		this.repaint();
+	}
+	
 	/**
      * Creates the top panel of the calendar cell that includes the day label
      * and an icon-only "Options" button which opens a popup menu.
@@ -97,7 +138,7 @@ public class CalendarDayPanel extends JPanel {
 		
 		JPopupMenu optionsMenu = generatePopupMenu();
 		// add options button
-		JButton optionsButton = new IconOnlyButton("Options", new ImageIcon("Resources/icons/menu.png"));
+		JButton optionsButton = new IconOnlyButton("Options", IconCache.get("menu.png"));
 		optionsButton.addActionListener(e -> {
 			optionsMenu.show(optionsButton, optionsButton.getWidth(), optionsButton.getHeight());
 		});
@@ -125,23 +166,22 @@ public class CalendarDayPanel extends JPanel {
 		
 		JMenuItem deleteTaskItem = new JMenuItem("Delete all tasks");
 		deleteTaskItem.addActionListener(e -> {
+			TaskBatch batch = new TaskBatch();
 			for (Task t : TaskManager.getTasksOnDate(date)) {
-				TaskManager.deleteTask(t);
-				if(TaskManager.getLatestFilteredTasks().contains(t)) {
-					TaskManager.getLatestFilteredTasks().remove(t);
-				}
-				TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-				TaskController.refresh(mainContent, UserSession.getCurentViewContext(), null);
+				batch.delete(t);
 			}
+			TaskManager.applyBatch(batch); // one event, so the day is redrawn once
+			PersistenceExecutor.requestSave(UserSession.getCurrentUser().getUsername());
 		});
 		
 		JMenuItem completeTaskItem = new JMenuItem("Complete all tasks");
 		completeTaskItem.addActionListener(e ->{
+			TaskBatch batch = new TaskBatch();
 			for (Task t: TaskManager.getTasksOnDate(date)) {
-				t.setCompleted(true);
-				TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-				TaskController.refresh(mainContent, UserSession.getCurentViewContext(), null);
+				batch.setComplete(t, true);
 			}
+			TaskManager.applyBatch(batch);
+			PersistenceExecutor.requestSave(UserSession.getCurrentUser().getUsername());
 		});
 		
 		dayMenu.add(showTasksItem);
@@ -156,10 +196,11 @@ public class CalendarDayPanel extends JPanel {
 	 * each representing a task due on a specific day.
 	 * The color of the dot indicates the task's priority level.
 	 *
-	 * @param day the day of the month for which to retrieve tasks
+	 * @param tasks the pending tasks due on the day
+	 * @param completedTasks the completed tasks due on the day
 	 * @return a transparent JPanel with 0 or more small round dots
 	 */
-	private JPanel generateDotsPanel(int day) {
+	private JPanel generateDotsPanel(List<Task> tasks, List<Task> completedTasks) {
 		JPanel dotsPanel = new JPanel(new GridLayout(0, 5, 5, 0));
 		//JPanel dotsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 2, 2));
 		//dotsPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 5));
@@ -167,17 +208,15 @@ public class CalendarDayPanel extends JPanel {
 		dotsPanel.setOpaque(false);
 		
 		// show pending tasks
-		for(Task t: TaskManager.getTasksOnDate(currentMonth.atDay(dayOfMonth))) {
+		for(Task t: tasks) {
 			JPanel dot = new Dot(t, TaskManager.getColorForTask(t), mainContent);
 			dotsPanel.add(dot);
 		}
 		
 		// show completed tasks as well
-		for(Task t: TaskManager.getCompletedTasks()) {
-			if(t.getDeadline().equals(currentMonth.atDay(dayOfMonth))) {
-				JPanel dot = new Dot(t, TaskManager.getColorForTask(t), mainContent);
-				dotsPanel.add(dot);
-			}
+		for(Task t: completedTasks) {
+			JPanel dot = new Dot(t, TaskManager.getColorForTask(t), mainContent);
+			dotsPanel.add(dot);
 		}
 		
 		return dotsPanel;
@@ -188,10 +227,11 @@ public class CalendarDayPanel extends JPanel {
      * The color of the panel indicates the task's priority level
      * 
      * @param mainContent the main panel to update when actions are triggered
+     * @param tasks the pending tasks due on the day
+     * @param completedTasks the completed tasks due on the day
      */
-	private JPanel generateTaskTitleListPanel(JPanel mainContent) {
-		ArrayList<Task> tasks = TaskManager.getTasksOnDate(currentMonth.atDay(dayOfMonth));
-		JPanel TaskTitleListPanel = new JPanel((new GridLayout(tasks.size() + 2, 1, 5, 5)));
+	private JPanel generateTaskTitleListPanel(JPanel mainContent, List<Task> tasks, List<Task> completedTasks) {
+		JPanel TaskTitleListPanel = new JPanel((new GridLayout(tasks.size() + completedTasks.size() + 2, 1, 5, 5)));
 		
 		// show pendings tasks
 		for(Task task : tasks) {
@@ -201,12 +241,10 @@ public class CalendarDayPanel extends JPanel {
 		}
 		
 		// show completed tasks as well
-		for(Task task: TaskManager.getCompletedTasks()) {
-			if(task.getDeadline().equals(currentMonth.atDay(dayOfMonth))) {
-				JPanel taskTitlePanel = new TaskTitlePanel(task, TaskManager.getColorForTask(task), mainContent);
-				ThemeController.applyTheme(taskTitlePanel);
-				TaskTitleListPanel.add(taskTitlePanel);
-			}
+		for(Task task: completedTasks) {
+			JPanel taskTitlePanel = new TaskTitlePanel(task, TaskManager.getColorForTask(task), mainContent);
+			ThemeController.applyTheme(taskTitlePanel);
+			TaskTitleListPanel.add(taskTitlePanel);
 		}
 		
 		ThemeController.applyTheme(TaskTitleListPanel);
@@ -12,17 +12,23 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Locale;
 
 import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
 import controllers.ThemeController;
+import data.CalendarPrefetcher;
+import data.MonthSummary;
+import data.TaskChangeListener;
+import data.TaskEvent;
+import data.TaskManager;
 import data.ThemeManager;
+import models.AppClock;
 import models.UserSession;
 
 /**
@@ -43,6 +49,12 @@ public class CalendarView extends JPanel{
 	/** End of currently displayed week. */
 	private LocalDate endOfWeek;
 	
+	/** first month shown when the neighbouring months were last prefetched, null before */
+	private YearMonth prefetchedFirst;
+	
+	/** last month shown when the neighbouring months were last prefetched, null before */
+	private YearMonth prefetchedLast;
+	
 	/** Panel grid that contains day cells for the month. */
 	private JPanel monthGrid;
 	
@@ -58,6 +70,12 @@ public class CalendarView extends JPanel{
 	/** Tracks whether the current view is month or week */
 	private ViewContext view;
 	
+	/** Day cells currently shown, by date, so a task change redraws only its day */
+	private HashMap<LocalDate, CalendarDayPanel> dayPanels = new HashMap<>();
+	
+	/** Redraws the days of changed tasks while the calendar is shown */
+	private final TaskChangeListener taskChangeListener = this::taskChanged;
+	
 	/**
      * Constructs a calendar view panel depending on {@code ViewContext}.
      * <p>
@@ -72,8 +90,8 @@ public class CalendarView extends JPanel{
 	public CalendarView(JPanel mainContent, ViewContext view){
 		this.setLayout(new BorderLayout());
 		
-		this.currentMonth = YearMonth.now();
-		this.startOfWeek = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+		this.currentMonth = YearMonth.from(AppClock.today());
+		this.startOfWeek = AppClock.today().with(java.time.DayOfWeek.MONDAY);
 		this.endOfWeek = startOfWeek.plusDays(6);
 		
 		this.mainContent = mainContent;
@@ -115,6 +133,7 @@ public class CalendarView extends JPanel{
 		weekButton.setFocusable(false);
 		weekButton.addActionListener(e -> {
 			UserSession.setCurrentViewContext(ViewContext.CALENDAR_WEEK);
+			view = ViewContext.CALENDAR_WEEK;
 			updateCalendarWeek(mainPanel);
 			highlightActiveButton(weekButton);
 		});
@@ -123,6 +142,7 @@ public class CalendarView extends JPanel{
 		monthButton.setFocusable(false);
 		monthButton.addActionListener(e -> {
 			UserSession.setCurrentViewContext(ViewContext.CALENDAR_MONTH);
+			view = ViewContext.CALENDAR_MONTH;
 			updateCalendarMonth(mainPanel);
 			highlightActiveButton(monthButton);
 		});
@@ -158,7 +178,7 @@ public class CalendarView extends JPanel{
 		monthLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
 		monthLabel.setForeground(ThemeManager.getForegroundColor());
 		
-		JButton prevMonthButton = new IconOnlyButton("Previous month", new ImageIcon("Resources/icons/left-64.png"));
+		JButton prevMonthButton = new IconOnlyButton("Previous month", IconCache.get("left-64.png"));
 		prevMonthButton.addActionListener(e -> {
 			currentMonth = currentMonth.minusMonths(1);
 			monthLabel.setText(currentMonth.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + 
@@ -166,7 +186,7 @@ public class CalendarView extends JPanel{
 			updateCalendarMonth(mainPanel);
 		});
 		
-		JButton nextMonthButton = new IconOnlyButton("Next month", new ImageIcon("Resources/icons/right-64.png"));
+		JButton nextMonthButton = new IconOnlyButton("Next month", IconCache.get("right-64.png"));
 		nextMonthButton.addActionListener(e -> {
 			currentMonth = currentMonth.plusMonths(1);
 			monthLabel.setText(currentMonth.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + 
@@ -198,7 +218,7 @@ public class CalendarView extends JPanel{
 		weekLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
 		weekLabel.setForeground(ThemeManager.getForegroundColor());
 		
-		JButton prevWeekButton = new IconOnlyButton("Previous week", new ImageIcon("Resources/icons/left-64.png"));
+		JButton prevWeekButton = new IconOnlyButton("Previous week", IconCache.get("left-64.png"));
 		prevWeekButton.addActionListener(e -> {
 			this.startOfWeek = startOfWeek.minusDays(7);
 			this.endOfWeek = startOfWeek.plusDays(6);
@@ -206,7 +226,7 @@ public class CalendarView extends JPanel{
 			updateCalendarWeek(mainPanel);
 		});
 		
-		JButton nextWeekButton = new IconOnlyButton("Next week", new ImageIcon("Resources/icons/right-64.png"));
+		JButton nextWeekButton = new IconOnlyButton("Next week", IconCache.get("right-64.png"));
 		nextWeekButton.addActionListener(e -> {
 			this.startOfWeek = startOfWeek.plusDays(7);
 			this.endOfWeek = startOfWeek.plusDays(6);
@@ -250,6 +270,7 @@ public class CalendarView extends JPanel{
 		JPanel weekLabelPanel = generateWeekdayLabelPanel();
 		weekGridPanel.add(weekLabelPanel, BorderLayout.NORTH);
 		
+		dayPanels.clear();
 		weekGrid = new JPanel(new GridLayout(1, 7));
 		weekGrid.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 		ThemeController.applyTheme(weekGrid);
@@ -262,12 +283,15 @@ public class CalendarView extends JPanel{
 		}
 		
 		for(LocalDate date: daysInWeek) {
-			YearMonth datesMonth = YearMonth.of(date.getYear(), date.getMonth());
+			// cached per month, so a week is summarized once even across two months
+			MonthSummary datesMonth = TaskManager.getMonthSummary(YearMonth.from(date));
 			CalendarDayPanel dayPanel = new CalendarDayPanel(date.getDayOfMonth(), datesMonth , mainContent, false);
+			dayPanels.put(date, dayPanel);
 			weekGrid.add(dayPanel);
 		}
 		
 		weekGridPanel.add(weekGrid, BorderLayout.CENTER);
+		prefetchNeighbours();
 		return weekGridPanel;
 	}
 	
@@ -280,6 +304,7 @@ public class CalendarView extends JPanel{
 		JPanel weekLabelPanel = generateWeekdayLabelPanel();
 		calendarGridPanel.add(weekLabelPanel, BorderLayout.NORTH);
 		
+		dayPanels.clear();
 		monthGrid = new JPanel(new GridLayout(0, 7)); // 7 columns for 7 days of the week
 		monthGrid.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 		ThemeController.applyTheme(monthGrid);
@@ -293,14 +318,17 @@ public class CalendarView extends JPanel{
 			monthGrid.add(new JLabel(""));
 		}
 		
-		// add all days of the current month
+		// add all days of the current month, from one summary of the month's tasks
+		MonthSummary monthSummary = TaskManager.getMonthSummary(currentMonth);
 		int daysInMonth = currentMonth.lengthOfMonth();
 		for(int day = 1; day <= daysInMonth; day++) {
-			CalendarDayPanel dayPanel = new CalendarDayPanel(day, currentMonth, mainContent, true);
+			CalendarDayPanel dayPanel = new CalendarDayPanel(day, monthSummary, mainContent, true);
+			dayPanels.put(dayPanel.getDate(), dayPanel);
 			monthGrid.add(dayPanel);
 		}
 		
 		calendarGridPanel.add(monthGrid, BorderLayout.CENTER);
+		prefetchNeighbours();
 		
 		return calendarGridPanel;
 	}
@@ -353,4 +381,53 @@ public class CalendarView extends JPanel{
 		mainPanel.repaint();
 	}
 
+	/**
+	 * Builds the task summaries of the calendar months before and after the shown month (or the
+	 * months the shown week falls in) in the background, as they are likely shown next.
+	 * Nothing is done unless the shown months changed since the last prefetch.
+	 */
+	private void prefetchNeighbours() {
+		YearMonth first = view.equals(ViewContext.CALENDAR_WEEK) ? YearMonth.from(startOfWeek) : currentMonth;
+		YearMonth last = view.equals(ViewContext.CALENDAR_WEEK) ? YearMonth.from(endOfWeek) : currentMonth;
+		if (first.equals(prefetchedFirst) && last.equals(prefetchedLast)) {
+			return;
+		}
+		prefetchedFirst = first;
+		prefetchedLast = last;
+		CalendarPrefetcher.prefetch(first.minusMonths(1), last.plusMonths(1));
+	}
+	
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		TaskManager.addTaskChangeListener(taskChangeListener);
+	}
+	
+	@Override
+	public void removeNotify() {
+		TaskManager.removeTaskChangeListener(taskChangeListener);
+		super.removeNotify();
+	}
+	
+	/**
+	 * Redraws the day cells showing the changed task (its old and new deadline; each day once for a batch),
+	 * or every day cell if the whole task list was reloaded.
+	 * 
+	 * @param event the change
+	 */
+	private void taskChanged(TaskEvent event) {
+		if (event.getType() == TaskEvent.Type.RELOADED) {
+			for (CalendarDayPanel dayPanel : dayPanels.values()) {
+				dayPanel.refreshTasks();
+			}
+			return;
+		}
+		for (LocalDate date : event.getAffectedDates()) {
+			CalendarDayPanel dayPanel = dayPanels.get(date);
+			if (dayPanel != null) {
+				dayPanel.refreshTasks();
+			}
+		}
+	}
+
 }
@@ -0,0 +1,65 @@
+package views;
+
+import java.awt.Image;
+import java.io.File;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.ImageIcon;
+
+/**
+ * The {@code IconCache} loads each icon used by the views once and shares it,
+ * so rebuilding task lists and calendars does not read and decode the same PNG files again.
+ * <p>
+ * Icons are looked up on the classpath under {@code /icons/} (the {@code Resources} folder
+ * is a resource folder of the build), and in the {@code Resources/icons} folder of the working
+ * directory when running from an IDE without it.
+ * <p>
+ * {@code ImageIcon}s are immutable once loaded, so the same instance can be shown by any
+ * number of components.
+ *
+ * @author Labibah Zainab
+ */
+public class IconCache {
+	private static final String CLASSPATH_DIR = "/icons/";
+	private static final String FILE_DIR = "Resources/icons/";
+
+	/** loaded icons, by file name or by file name and size */
+	private static final Map<String, ImageIcon> icons = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the icon with the given file name, e.g. {@code "delete.png"}.
+	 *
+	 * @param name the file name of the icon in the icons folder
+	 * @return the icon (an empty icon if the file does not exist)
+	 */
+	public static ImageIcon get(String name) {
+		return icons.computeIfAbsent(name, IconCache::load);
+	}
+
+	/**
+	 * Returns the icon with the given file name, scaled to the given size.
+	 * Each size is scaled once.
+	 *
+	 * @param name the file name of the icon in the icons folder
+	 * @param width the width in pixels
+	 * @param height the height in pixels
+	 * @return the scaled icon
+	 */
+	public static ImageIcon get(String name, int width, int height) {
+		return icons.computeIfAbsent(name + "@" + width + "x" + height,
+				key -> new ImageIcon(get(name).getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH)));
+	}
+
+	private static ImageIcon load(String name) {
+		URL url = IconCache.class.getResource(CLASSPATH_DIR + name);
+		if (url != null) {
+			return new ImageIcon(url);
+		}
+		if (!new File(FILE_DIR + name).exists()) {
+			System.out.println("Icon not found: " + name);
+		}
+		return new ImageIcon(FILE_DIR + name);
+	}
+}
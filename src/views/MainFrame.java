@@ -3,20 +3,25 @@ package views;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
 import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingConstants;
 
 import controllers.StatsController;
 import controllers.TaskController;
 import controllers.ThemeController;
+import controllers.UserController;
+import data.CallTimings;
+import data.JournalFlusher;
 import data.TaskManager;
 import data.ThemeManager;
 import data.UserDataManager;
@@ -34,42 +39,59 @@ public class MainFrame extends JFrame {
 	private static JPanel rightPanel;
 	private static JPanel taskManagerPanel;
 	
+	/** the central panel showing the current view */
+	private JPanel mainContent;
+	
+	/**
+	 * Creates and shows the main window with the calendar for the logged in user.
+	 */
 	public MainFrame() {
+		this(UserSession.getCurrentUser().getUsername(), false);
+	}
+	
+	/**
+	 * Creates and shows the main window.
+	 * 
+	 * @param username the user the window is for
+	 * @param loading true to only show a loading message until {@link #showDashboard()} is called,
+	 *                e.g. while the user's tasks are still being loaded at startup
+	 */
+	public MainFrame(String username, boolean loading) {
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		this.setSize(1100, 650);
 		this.setLayout(new BorderLayout());
-		this.setTitle(UserSession.getCurrentUser().getUsername() + "'s " + "Study Planner");
+		this.setTitle(username + "'s " + "Study Planner");
 		
-		JPanel mainContent = new JPanel();
+		mainContent = new JPanel();
 		mainContent.setLayout(new BorderLayout());
-		
-		leftPanel = generateLeftPanel(this, mainContent);
-		this.add(leftPanel, BorderLayout.WEST);
-		
-		CalendarView calendarView = new CalendarView(mainContent, ViewContext.CALENDAR_WEEK);
-		UserSession.setCurrentViewContext(ViewContext.CALENDAR_WEEK); 
-		mainContent.add(calendarView, BorderLayout.CENTER);
-		
 		this.add(mainContent, BorderLayout.CENTER);
 		
-		ThemeController.applyTheme(mainContent);
-		
-		MyMenuBar myMenuBar = new MyMenuBar(this, mainContent);
-		this.setJMenuBar(myMenuBar);
-		
-		rightPanel = generateRightPanel(this, mainContent);
-		this.add(rightPanel, BorderLayout.EAST);
+		if (loading) {
+			JLabel loadingLabel = new JLabel("Loading your tasks...", SwingConstants.CENTER);
+			loadingLabel.setFont(new Font("Calibri", Font.PLAIN, 18));
+			ThemeController.applyTheme(loadingLabel);
+			mainContent.add(loadingLabel, BorderLayout.CENTER);
+			ThemeController.applyTheme(mainContent);
+		}
+		else {
+			showDashboard();
+		}
 		
 		// save on close
 		this.addWindowListener(new WindowAdapter() {
 			@Override
 			public void windowClosing(WindowEvent e) {
-				if(TaskManager.isTaskListModified()) {
-					TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
+				// changes are already in the journal, so closing waits only briefly for the last save
+				if (UserSession.getCurrentUser() != null) { // null while still loading
+					JournalFlusher.flushAndStop(UserSession.getCurrentUser().getUsername());
 				}
-				if(UserDataManager.getIsLoggedIn()) {
+				if(UserDataManager.getIsLoggedIn() != null && UserDataManager.getIsLoggedIn()) {
 					UserDataManager.saveUserLoggedIn();
 				}
+				// timings are debug output, shown only when asked for with -Dstudyplanner.timings=true
+				if (Boolean.getBoolean("studyplanner.timings")) {
+					CallTimings.printSummary();
+				}
 				System.exit(0);
 			}
 		});
@@ -78,6 +100,32 @@ public class MainFrame extends JFrame {
 		this.setVisible(true);
 	}
 	
+	/**
+	 * Replaces the loading message (if any) with the side panels, the menu bar
+	 * and the calendar week dashboard.
+	 */
+	public void showDashboard() {
+		mainContent.removeAll();
+		
+		leftPanel = generateLeftPanel(this, mainContent);
+		this.add(leftPanel, BorderLayout.WEST);
+		
+		CalendarView calendarView = new CalendarView(mainContent, ViewContext.CALENDAR_WEEK);
+		UserSession.setCurrentViewContext(ViewContext.CALENDAR_WEEK); 
+		mainContent.add(calendarView, BorderLayout.CENTER);
+		
+		ThemeController.applyTheme(mainContent);
+		
+		MyMenuBar myMenuBar = new MyMenuBar(this, mainContent);
+		this.setJMenuBar(myMenuBar);
+		
+		rightPanel = generateRightPanel(this, mainContent);
+		this.add(rightPanel, BorderLayout.EAST);
+		
+		this.revalidate();
+		this.repaint();
+	}
+	
 	/**
     * Generates the right-side control panel which contains:
     * <ul>
@@ -105,13 +153,9 @@ public class MainFrame extends JFrame {
 		logOutButton.setFocusable(false);
 		
 		logOutButton.addActionListener(e -> {
-			//TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			if(TaskManager.isTaskListModified()) {
-				TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			}
 			UserDataManager.setIsLoggedIn(false);
 			UserDataManager.saveUserLoggedIn();
-			UserSession.logout();
+			UserController.logout(); // saves tasks and clears the session
 			mainFrame.dispose();
 			new LogInFrame();
 		});
@@ -139,13 +183,13 @@ public class MainFrame extends JFrame {
 		left_panel.setLayout(new GridLayout(6, 1, 0, 2));
 		//leftPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 		
-		IconOnlyButton statsButton = new IconOnlyButton("Show statistics", new ImageIcon("Resources/icons/statistics-64.png"));
+		IconOnlyButton statsButton = new IconOnlyButton("Show statistics", IconCache.get("statistics-64.png"));
 		statsButton.addActionListener(e -> {
 			StatsController.displayStatsView(mainContent);
 		});
 		left_panel.add(statsButton);
 		
-		IconOnlyButton toggleThemeButton = new IconOnlyButton("Toggle Theme", new ImageIcon("Resources/icons/theme-64.png"));
+		IconOnlyButton toggleThemeButton = new IconOnlyButton("Toggle Theme", IconCache.get("theme-64.png"));
 		toggleThemeButton.addActionListener(e -> {
 			String option = (ThemeManager.getCurrentTheme() == Theme.DARK) ? "☀ Light" : "🌙 Dark";
 			String currentTheme = (ThemeManager.getCurrentTheme() == Theme.DARK) ? "🌙 Dark" : "☀ Light";
@@ -155,7 +199,7 @@ public class MainFrame extends JFrame {
 					"Toggle Theme",
 					JOptionPane.YES_NO_OPTION, 
 					JOptionPane.INFORMATION_MESSAGE, 
-					new ImageIcon("Resources/icons/theme-48.png"), 
+					IconCache.get("theme-48.png"), 
 					null, 0);
 			switch(response) {
 				case 0: 
@@ -19,6 +19,9 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import controllers.CalendarController;
 import controllers.SearchController;
@@ -68,6 +71,15 @@ public class SearchView extends JPanel{
 	/** Combo box for selecting task status filter */
 	private JComboBox<String> statusBox;
 	
+	/** milliseconds to wait after the last keystroke before searching */
+	private static final int SEARCH_DELAY_MILLIS = 250;
+	
+	/** starts a search once the user stops typing */
+	private Timer searchDelayTimer;
+	
+	/** true while the results shown are those of a search run as the user typed */
+	private boolean showingTypedSearch = false;
+	
 	/**
      * Constructs a new {@code SearchView} and sets up its UI components.
      *
@@ -111,7 +123,7 @@ public class SearchView extends JPanel{
 //			CalendarController.displayCalendar(mainContent, ViewContext.CALENDAR_WEEK);
 //		});
 		
-		BackButton backButton = new BackButton(mainContent, new ImageIcon("Resources/icons/back_arrow-48.png"));
+		BackButton backButton = new BackButton(mainContent, IconCache.get("back_arrow-48.png"));
 		
 		// placeholder keyword field
 		keywordField = new JTextField(50);
@@ -140,21 +152,54 @@ public class SearchView extends JPanel{
 			}
 		});
 		
+		// search as you type: search once no key was pressed for a moment
+		searchDelayTimer = new Timer(SEARCH_DELAY_MILLIS, e -> {
+			String keyword = keywordField.getText();
+			if (keyword.equals(placeholder)) {
+				return;
+			}
+			if (!keyword.isBlank()) {
+				SearchController.searchInBackground(keyword, searchResultPanel);
+				showingTypedSearch = true;
+			}
+			else if (showingTypedSearch) {
+				// the keyword was erased: the results no longer match it
+				SearchController.clearSearchResult(searchResultPanel);
+				showingTypedSearch = false;
+			}
+		});
+		searchDelayTimer.setRepeats(false);
+		keywordField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				searchDelayTimer.restart();
+			}
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				searchDelayTimer.restart();
+			}
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+				// attribute changes only, text is the same
+			}
+		});
+		
 		// search button functionality
-		searchButton = new IconOnlyButton("Search", new ImageIcon("Resources/icons/search-48-arcade.png"));
+		searchButton = new IconOnlyButton("Search", IconCache.get("search-48-arcade.png"));
 		searchButton.addActionListener(e -> {
 			if(keywordField.getText().trim().isBlank() ||
-					keywordField.getText().equalsIgnoreCase("Enter keyword...")) {
+					keywordField.getText().equalsIgnoreCase(placeholder)) {
 				JOptionPane.showMessageDialog(null, "Please enter a keyword for your search,"
 						+ " or enter 'all' for all tasks.");
 				return;
 			}
-			TaskManager.setFilteredTasks(keywordField.getText(), null, 0);
-			TaskController.refresh(searchResultPanel, ViewContext.SEARCH, null);
+			searchDelayTimer.stop();
+			SearchController.searchInBackground(keywordField.getText(), searchResultPanel);
+			showingTypedSearch = true;
 		});
 		
 		// filter button functionality
-		filterButton = new IconOnlyButton("Filter", new ImageIcon("Resources/icons/filter-48-arcade.png"));
+		filterButton = new IconOnlyButton("Filter", IconCache.get("filter-48-arcade.png"));
 		filterButton.addActionListener(e -> {
 			openFilterDialog();
 		});
@@ -229,6 +274,7 @@ public class SearchView extends JPanel{
 			TaskManager.setFilteredTasks(filterKeywordField.getText(), 
 					(PriorityLevel) priorityBox.getSelectedItem(), statusBox.getSelectedIndex());
 			TaskController.refresh(searchResultPanel, ViewContext.SEARCH, null);
+			showingTypedSearch = false;
 		});
 		filterPanel.add(applyButton);
 		
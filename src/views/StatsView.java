@@ -48,6 +48,7 @@ import controllers.StatsController;
 import controllers.ThemeController;
 import data.TaskManager;
 import data.ThemeManager;
+import models.AppClock;
 
 /**
  * The {@code StatsView} class represents the statistics dashboard view.
@@ -92,9 +93,9 @@ public class StatsView extends JPanel{
 		JLabel totaltasksLabel = new JLabel ("📋 Total tasks: " + TaskManager.getTasks().size());
 		JLabel completedTodayLabel = new JLabel ("📅 Completed today: " + TaskManager.getNumTasksCompletedToday());
 		JLabel completedThisWeekLabel = new JLabel ("📆 Completed this week: " + TaskManager.getNumTasksCompletedThisWeek());
-		JLabel completedTasksLabel = new JLabel("✅ Total Completed: " + TaskManager.getCompletedTasks().size());
-		JLabel pendingTasksLabel = new JLabel("⏳ Pending: " + TaskManager.getPendingTasks().size());
-		JLabel overdueLabel = new JLabel ("❗ Overdue: " + TaskManager.getOverdueTasks().size());
+		JLabel completedTasksLabel = new JLabel("✅ Total Completed: " + TaskManager.getNumCompletedTasks());
+		JLabel pendingTasksLabel = new JLabel("⏳ Pending: " + TaskManager.getNumPendingTasks());
+		JLabel overdueLabel = new JLabel ("❗ Overdue: " + TaskManager.getNumOverdueTasks());
 		JLabel completionRate = new JLabel("📊 Completion rate: " + String.format("%.2f", TaskManager.getCompletionRate()) + "%" );
 		
 		for(JLabel label: new JLabel[] 
@@ -175,10 +176,11 @@ public class StatsView extends JPanel{
 		
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 		
-		int numDueToday = TaskManager.getTasksOnDate(LocalDate.now()).size();
-		int numDueTomorrow = TaskManager.getTasksOnDate(LocalDate.now().plusDays(1)).size();
-		int numDueThisWeek = TaskManager.getTasksDueThisWeek().size();
-		int numDueNextWeek = TaskManager.getTasksDueNextWeek().size();
+		LocalDate today = AppClock.today();
+		int numDueToday = TaskManager.getNumTasksDueBetween(today, today);
+		int numDueTomorrow = TaskManager.getNumTasksDueBetween(today.plusDays(1), today.plusDays(1));
+		int numDueThisWeek = TaskManager.getNumTasksDueThisWeek();
+		int numDueNextWeek = TaskManager.getNumTasksDueNextWeek();
 		
 		dataset.addValue(numDueToday, "Tasks", "Today");
 		dataset.addValue(numDueTomorrow, "Tasks", "Tomorrow");
@@ -316,9 +318,9 @@ public class StatsView extends JPanel{
 		
 		DefaultPieDataset<String> dataset = new DefaultPieDataset();
 		
-		int numCompleted = TaskManager.getCompletedTasks().size();
-		int numPending = TaskManager.getPendingTasks().size();
-		int numOverdue = TaskManager.getOverdueTasks().size();
+		int numCompleted = TaskManager.getNumCompletedTasks();
+		int numPending = TaskManager.getNumPendingTasks();
+		int numOverdue = TaskManager.getNumOverdueTasks();
 		
 		dataset.setValue("Completed", numCompleted);
 		dataset.setValue("Pending", numPending);
@@ -20,6 +20,7 @@ import javax.swing.ScrollPaneConstants;
 
 import com.toedter.calendar.JDateChooser;
 
+import models.AppClock;
 import models.PriorityLevel;
 
 public class TaskFormPanel extends JPanel {
@@ -89,7 +90,7 @@ public class TaskFormPanel extends JPanel {
 		// fourth row, second column
 		deadlinePicker = new JDateChooser();
 		deadlinePicker.setDateFormatString("dd MMMMM yyyy");
-		deadlinePicker.setMinSelectableDate(new Date()); // can't pick dates that have already passed
+		deadlinePicker.setMinSelectableDate(Date.from(AppClock.today().atStartOfDay(ZoneId.systemDefault()).toInstant())); // can't pick dates that have already passed
 		gbc.gridx = 1;
 		this.add(deadlinePicker, gbc);
 	}
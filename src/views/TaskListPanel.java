@@ -1,30 +1,386 @@
 package views;
 
-import java.awt.GridLayout;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.Scrollable;
+import javax.swing.SwingUtilities;
 
+import controllers.TaskController;
 import controllers.ThemeController;
+import data.TaskChangeListener;
+import data.TaskEvent;
 import data.TaskManager;
+import data.ThemeManager;
 import models.Task;
+import models.TaskStatus;
 
 /**
- * A panel that displays a vertical list of TaskPanels.
+ * A panel that displays a vertical list of tasks.
  * Each task is shown with options to complete, edit, or delete it.
+ * <p>
+ * The tasks are shown in a {@code JList} that paints every row with one shared
+ * renderer, so only the rows in view are drawn and no components are created per task,
+ * however long the list is. Clicks on a row's icons are mapped back to the task.
+ * <p>
+ * While shown, the panel listens to task changes and adds, updates or removes only the
+ * affected rows, so completing or deleting a task does not rebuild the view.
  */
-public class TaskListPanel extends JPanel{
+public class TaskListPanel extends JPanel implements Scrollable{
 	JPanel mainContentPanel;
-	
+
+	/** height of one task row, in pixels */
+	private static final int ROW_HEIGHT = 80;
+
+	/** the list painting the task rows */
+	private JList<Task> taskList;
+
+	/** paints the rows, and tells which icon a click landed on */
+	private TaskRowRenderer renderer;
+
+	/** the tasks shown */
+	private DefaultListModel<Task> model;
+
+	/** which tasks the list shows */
+	private ViewContext view;
+
+	/** the date whose tasks are shown in the {@code TASK_LIST_ON_DATE} view, otherwise null */
+	private LocalDate date;
+
+	/** updates the rows of changed tasks while the panel is shown */
+	private final TaskChangeListener taskChangeListener = this::taskChanged;
+
 	public TaskListPanel(JPanel mainContent, ArrayList<Task> tasks, ViewContext view) {
-		this.setLayout(new GridLayout(TaskManager.getTasks().size() + 2, 1, 5, 5));
+		this(mainContent, tasks, view, null);
+	}
+
+	/**
+	 * Creates a task list panel.
+	 *
+	 * @param mainContent the main content panel
+	 * @param tasks the tasks to show
+	 * @param view the view the list belongs to, which decides which changed tasks it shows
+	 * @param date the date whose tasks are shown in the {@code TASK_LIST_ON_DATE} view, otherwise null
+	 */
+	public TaskListPanel(JPanel mainContent, ArrayList<Task> tasks, ViewContext view, LocalDate date) {
+		this.setLayout(new BorderLayout());
 		this.mainContentPanel = mainContent;
+		this.view = view;
+		this.date = date;
 
-		for(Task task : tasks) {
-			JPanel taskPanel = new TaskPanel(task, mainContentPanel, view);
-			this.add(taskPanel);
-		}
+		model = new DefaultListModel<>();
+		model.addAll(tasks);
+
+		renderer = new TaskRowRenderer();
+		taskList = new JList<Task>(model) {
+			@Override
+			public String getToolTipText(MouseEvent e) {
+				int index = rowAt(e.getPoint());
+				if (index < 0) {
+					return null;
+				}
+				JLabel icon = iconAt(index, e.getPoint());
+				return icon != null ? icon.getToolTipText() : getModel().getElementAt(index).getDescription();
+			}
+		};
+		taskList.setCellRenderer(renderer);
+		taskList.setFixedCellHeight(ROW_HEIGHT);
+		taskList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		taskList.setFocusable(false);
+		taskList.setToolTipText(""); // enables tool tips
+		ThemeController.applyTheme(taskList);
+
+		taskList.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				int index = rowAt(e.getPoint());
+				if (index < 0) {
+					return;
+				}
+				Task task = model.getElementAt(index);
+				JLabel icon = iconAt(index, e.getPoint());
+				// the rows are updated by taskChanged once TaskManager reports the change
+				if (icon == renderer.completedIcon) {
+					TaskManager.setTaskComplete(task, !task.isCompleted()); // taskList is flagged as modified in this method
+				}
+				else if (icon == renderer.deleteIcon) {
+					TaskManager.deleteTask(task); // also removes the task from the search results
+				}
+				else if (icon == renderer.editIcon) {
+					TaskController.editTask(task, createTaskInfoPanel(task), mainContent, view);
+				}
+			}
+		});
+		taskList.addMouseMotionListener(new MouseAdapter() {
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				int index = rowAt(e.getPoint());
+				boolean onIcon = index >= 0 && iconAt(index, e.getPoint()) != null;
+				taskList.setCursor(onIcon ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+			}
+		});
+
+		this.add(taskList, BorderLayout.CENTER);
 		ThemeController.applyTheme(this);
 	}
-	
+
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		TaskManager.addTaskChangeListener(taskChangeListener);
+	}
+
+	@Override
+	public void removeNotify() {
+		TaskManager.removeTaskChangeListener(taskChangeListener);
+		super.removeNotify();
+	}
+
+	/**
+	 * Adds, repaints or removes the row of the changed task (of each task in a batch).
+	 */
+	private void taskChanged(TaskEvent event) {
+		Task task = event.getTask();
+		switch (event.getType()) {
+		case TaskEvent.Type.ADDED:
+			if (followsTaskList() && belongs(task)) {
+				model.addElement(task);
+			}
+			break;
+		case TaskEvent.Type.UPDATED:
+			int index = model.indexOf(task);
+			if (index >= 0 && (!followsTaskList() || belongs(task))) {
+				model.set(index, task); // repaints the row
+			}
+			else if (index >= 0) {
+				model.remove(index);
+			}
+			else if (followsTaskList() && belongs(task)) {
+				model.addElement(task);
+			}
+			break;
+		case TaskEvent.Type.DELETED:
+			model.removeElement(task);
+			break;
+		case TaskEvent.Type.RELOADED:
+			reload();
+			break;
+		case TaskEvent.Type.BATCH:
+			for (TaskEvent change : event.getChanges()) {
+				taskChanged(change);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Shows the tasks again after the whole task list changed (loaded or sorted).
+	 * Search results keep their order and only lose tasks that no longer exist.
+	 */
+	private void reload() {
+		ArrayList<Task> tasks = new ArrayList<>();
+		if (followsTaskList()) {
+			for (Task task : TaskManager.getTasks()) {
+				if (belongs(task)) {
+					tasks.add(task);
+				}
+			}
+		}
+		else {
+			HashSet<Task> existing = new HashSet<>(TaskManager.getTasks());
+			for (int i = 0; i < model.size(); i++) {
+				if (existing.contains(model.get(i))) {
+					tasks.add(model.get(i));
+				}
+			}
+		}
+		model.clear();
+		model.addAll(tasks);
+	}
+
+	/**
+	 * Returns true if the list shows all tasks of a kind (e.g. all pending tasks), so changed
+	 * tasks may join or leave it; false for a fixed set of tasks such as search results.
+	 */
+	private boolean followsTaskList() {
+		switch (view) {
+		case ViewContext.TASK_LIST_ALL:
+		case ViewContext.TASK_LIST_PENDING:
+		case ViewContext.TASK_LIST_COMPLETED:
+		case ViewContext.TASK_LIST_OVERDUE:
+		case ViewContext.TASK_LIST_ON_DATE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns true if the task is one of the tasks this list shows, as chosen in {@code TaskController.displayTaskList}.
+	 */
+	private boolean belongs(Task task) {
+		switch (view) {
+		case ViewContext.TASK_LIST_PENDING: return !task.isCompleted() && task.getTaskStatus() != TaskStatus.OVERDUE;
+		case ViewContext.TASK_LIST_COMPLETED: return task.isCompleted();
+		case ViewContext.TASK_LIST_OVERDUE: return task.getTaskStatus() == TaskStatus.OVERDUE;
+		case ViewContext.TASK_LIST_ON_DATE:
+			// without a date, the view shows the pending tasks
+			return date != null ? date.equals(task.getDeadline())
+					: !task.isCompleted() && task.getTaskStatus() != TaskStatus.OVERDUE;
+		default: return true;
+		}
+	}
+
+	/**
+	 * Returns the index of the row under the point, or -1 if there is none.
+	 */
+	private int rowAt(Point point) {
+		int index = taskList.locationToIndex(point);
+		if (index < 0 || !taskList.getCellBounds(index, index).contains(point)) {
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Lays the renderer out as the given row and returns the icon under the point, or null.
+	 */
+	private JLabel iconAt(int index, Point point) {
+		Rectangle cell = taskList.getCellBounds(index, index);
+		Task task = taskList.getModel().getElementAt(index);
+		renderer.getListCellRendererComponent(taskList, task, index, false, false);
+		renderer.setBounds(0, 0, cell.width, cell.height);
+		// the renderer is not part of the window, so it is laid out by hand
+		renderer.doLayout();
+		renderer.controlsPanel.doLayout();
+		Component hit = SwingUtilities.getDeepestComponentAt(renderer, point.x - cell.x, point.y - cell.y);
+		if (hit == renderer.completedIcon || hit == renderer.deleteIcon || hit == renderer.editIcon) {
+			return (JLabel) hit;
+		}
+		return null;
+	}
+
+	/**
+	 * Creates a small preview of the task, shown at the top of the edit window.
+	 */
+	private static JPanel createTaskInfoPanel(Task task) {
+		JPanel taskInfoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		JTextArea taskArea = new JTextArea(task.toString());
+		taskArea.setFont(new Font("Arial", Font.PLAIN, 10));
+		taskArea.setEditable(false);
+		taskArea.setBackground(TaskManager.getColorForTask(task));
+		taskInfoPanel.add(taskArea);
+		ThemeController.applyTheme(taskInfoPanel);
+		return taskInfoPanel;
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return taskList.getPreferredScrollableViewportSize();
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return taskList.getScrollableUnitIncrement(visibleRect, orientation, direction);
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return taskList.getScrollableBlockIncrement(visibleRect, orientation, direction);
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+	/**
+	 * Paints one task row: the task details colored by priority, its status,
+	 * and the complete, delete and edit icons (same layout as a {@code TaskPanel}).
+	 */
+	private static class TaskRowRenderer extends JPanel implements ListCellRenderer<Task> {
+		private static final ImageIcon UNCHECKED = IconCache.get("unchecked.png");
+		private static final ImageIcon CHECKED = IconCache.get("check.png");
+		private static final ImageIcon DELETE = IconCache.get("delete.png");
+		private static final ImageIcon EDIT = IconCache.get("edit.png");
+
+		private final JTextArea taskArea = new JTextArea();
+		private final JLabel statusLabel = new JLabel();
+		private final JLabel completedIcon = new JLabel(UNCHECKED);
+		private final JLabel deleteIcon = new JLabel(DELETE);
+		private final JLabel editIcon = new JLabel(EDIT);
+		private final JPanel controlsPanel = new JPanel(new GridBagLayout());
+
+		private TaskRowRenderer() {
+			super(new BorderLayout(10, 0));
+			this.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+			taskArea.setFont(new Font("Arial", Font.PLAIN, 10));
+			taskArea.setEditable(false);
+			taskArea.setOpaque(true);
+
+			completedIcon.setToolTipText("Complete task");
+			deleteIcon.setToolTipText("Delete task");
+			editIcon.setToolTipText("Edit task");
+
+			// one row, vertically centered, as in a TaskPanel
+			controlsPanel.setOpaque(false);
+			GridBagConstraints gbc = new GridBagConstraints();
+			gbc.insets = new Insets(5, 5, 5, 5);
+			controlsPanel.add(statusLabel, gbc);
+			controlsPanel.add(completedIcon, gbc);
+			controlsPanel.add(deleteIcon, gbc);
+			controlsPanel.add(editIcon, gbc);
+
+			this.add(taskArea, BorderLayout.CENTER);
+			this.add(controlsPanel, BorderLayout.EAST);
+		}
+
+		@Override
+		public Component getListCellRendererComponent(JList<? extends Task> list, Task task, int index,
+				boolean isSelected, boolean cellHasFocus) {
+			taskArea.setText(task.toString());
+			taskArea.setBackground(TaskManager.getColorForTask(task));
+
+			statusLabel.setText(task.getStatus());
+			switch (task.getTaskStatus()){
+			case TaskStatus.COMPLETED: statusLabel.setForeground(new Color(0x008000)); break;
+			case TaskStatus.OVERDUE: statusLabel.setForeground(new Color(0xff2400)); break;
+			default: statusLabel.setForeground(ThemeManager.getForegroundColor()); break;
+			}
+			completedIcon.setIcon(task.isCompleted() ? CHECKED : UNCHECKED);
+
+			ThemeController.applyTheme(this);
+			return this;
+		}
+	}
 }
@@ -1,10 +1,10 @@
 package views;
 
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
 
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JMenuItem;
@@ -15,6 +15,7 @@ import javax.swing.JPopupMenu;
 import controllers.SearchController;
 import controllers.TaskController;
 import controllers.ThemeController;
+import data.PersistenceExecutor;
 import data.TaskManager;
 import models.UserSession;
 
@@ -27,29 +28,29 @@ public class TaskManagerPanel extends JPanel{
 		
 		this.setLayout(new GridLayout(6, 1, 0, 2));
 		
-		IconOnlyButton addNewTaskButton = new IconOnlyButton("Add new task", new ImageIcon("Resources/icons/add-64-green.png"));
+		IconOnlyButton addNewTaskButton = new IconOnlyButton("Add new task", IconCache.get("add-64-green.png"));
 		addNewTaskButton.addActionListener(e -> TaskController.addNewTask(parent, mainContent));
 		
 		IconOnlyButton showTasklistButton = new IconOnlyButton("Show task list", 
-													new ImageIcon("Resources/icons/tasklist-64.png"));
+													IconCache.get("tasklist-64.png"));
 		showTasklistButton.addActionListener(e -> {
 			TaskController.displayTaskList(mainContent, null, ViewContext.TASK_LIST_PENDING);
 		});
 		
 		IconOnlyButton sortTasksButton = new IconOnlyButton("Sort task list " + "(Go to task list to see sorted tasks)", 
-													new ImageIcon("Resources/icons/sort-64.png"));
+													IconCache.get("sort-64.png"));
 		sortTasksButton.addActionListener(e -> {
 			JPopupMenu options = generatePopupMenu(mainContent);
 			options.show(sortTasksButton, 0, sortTasksButton.getHeight());
 		});
 		
-		IconOnlyButton searchButton = new IconOnlyButton("Search tasks", new ImageIcon("Resources/icons/search-64-arcade.png"));
+		IconOnlyButton searchButton = new IconOnlyButton("Search tasks", IconCache.get("search-64-arcade.png"));
 		searchButton.addActionListener(e -> {
 			//UserSession.setCurrentViewContext();
 			SearchController.displaySearchView(mainContent, parent);
 		});
 		
-		IconOnlyButton saveButton = new IconOnlyButton("Save now", new ImageIcon("Resources/icons/save-64.png"));
+		IconOnlyButton saveButton = new IconOnlyButton("Save now", IconCache.get("save-64.png"));
 		saveButton.addActionListener(e -> {
 			String[] responses = {"Continue", "Cancel"};
 			int response = JOptionPane.showOptionDialog(parent, 
@@ -58,10 +59,10 @@ public class TaskManagerPanel extends JPanel{
 							"Save now?",
 							JOptionPane.OK_CANCEL_OPTION, 
 							JOptionPane.INFORMATION_MESSAGE, 
-							new ImageIcon("Resources/icons/save-48.png"), 
+							IconCache.get("save-48.png"), 
 							responses, 0);
 			switch(response) {
-			case 0 : TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername()); break;
+			case 0 : saveNow(saveButton, parent); break;
 			case 1: break;
 			}
 		});
@@ -75,6 +76,30 @@ public class TaskManagerPanel extends JPanel{
 		ThemeController.applyTheme(this);
 	}
 	
+	/**
+	 * Saves the changes in the background. The save button is disabled and says "Saving..."
+	 * until the save is done; the user is told if it failed.
+	 *
+	 * @param saveButton the button that was clicked
+	 * @param parent the frame to show a failure message over
+	 */
+	private static void saveNow(JButton saveButton, JFrame parent) {
+		saveButton.setEnabled(false);
+		saveButton.setToolTipText("Saving...");
+		parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		PersistenceExecutor.requestSave(UserSession.getCurrentUser().getUsername(), saved -> {
+			saveButton.setEnabled(true);
+			saveButton.setToolTipText("Save now");
+			parent.setCursor(Cursor.getDefaultCursor());
+			if (!saved) {
+				JOptionPane.showMessageDialog(parent, 
+						"Your changes could not be saved to the cloud right now.\n" +
+						"They are kept on this computer and saved automatically later.",
+						"Save failed", JOptionPane.WARNING_MESSAGE);
+			}
+		});
+	}
+	
 	/**
 	 * Generates a popup menu that allows the user to choose how to sort tasks.
 	 * <p>
@@ -84,7 +109,7 @@ public class TaskManagerPanel extends JPanel{
 	 *   <li>Deadline (earliest to latest)</li>
 	 * </ul>
 	 * When an option is selected, the corresponding sorting method is applied
-	 * to the task list, and the UI is refreshed by calling {@code TaskController.refresh(mainContent)}.
+	 * to the task list, and the views showing task lists redraw them in the new order.
 	 *
 	 * @param mainContent the panel containing the task list, used to trigger a visual refresh
 	 * @return a {@link JPopupMenu} containing sorting options as {@link JMenuItem}s
@@ -94,15 +119,13 @@ public class TaskManagerPanel extends JPanel{
 		JMenuItem byPriorityItem = new JMenuItem("By Priority Level");
 		byPriorityItem.addActionListener(e -> {
 			TaskManager.prioritizeTaskList();
-			TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			TaskController.refresh(mainContent, UserSession.getCurentViewContext(), null);
+			PersistenceExecutor.requestSave(UserSession.getCurrentUser().getUsername());
 		});
 		
 		JMenuItem byDeadlineItem = new JMenuItem("By Deadline");
 		byDeadlineItem.addActionListener(e -> {
 			TaskManager.sortTasksByDeadline();
-			TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			TaskController.refresh(mainContent, UserSession.getCurentViewContext(), null);
+			PersistenceExecutor.requestSave(UserSession.getCurrentUser().getUsername());
 		});
 		
 		sortOptions.add(byPriorityItem);
@@ -6,23 +6,27 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.Window;
 
 import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 
 import controllers.CalendarController;
 import controllers.TaskController;
 import controllers.ThemeController;
+import data.TaskChangeListener;
+import data.TaskEvent;
 import data.TaskManager;
 import data.ThemeManager;
 import models.PriorityLevel;
 import models.Task;
+import models.TaskStatus;
 import models.UserSession;
 
 /**
@@ -31,12 +35,23 @@ import models.UserSession;
  *
  * This panel is reusable in different contexts (e.g., task list or calendar view).
  * Its behavior is adapted using the provided view context.
+ * While shown, it updates itself when its task is changed, and closes its window
+ * when the task is deleted.
  */
 public class TaskPanel extends JPanel{
 	private Task task;
 	JTextArea taskArea;
 	JPanel mainContent;
 	
+	/** shows the task's status */
+	private JLabel statusLabel;
+	
+	/** shows and toggles whether the task is completed */
+	private JCheckBox completedBox;
+	
+	/** updates the panel when its task changes */
+	private final TaskChangeListener taskChangeListener = this::taskChanged;
+	
 	public TaskPanel(Task task, JPanel mainContent, ViewContext view) {
 		this.task = task;
 		this.taskArea = new JTextArea(task.toString());
@@ -60,21 +75,16 @@ public class TaskPanel extends JPanel{
 		setPriorityColor();
 		
 		JPanel statusPanel = new JPanel();
-		String status = task.getStatus();
-		JLabel statusLabel = new JLabel(status);
-		switch (status){
-		case "Completed!": statusLabel.setForeground(new Color(0x008000)); break;
-		case "Overdue!": statusLabel.setForeground(new Color(0xff2400)); break;
-		default: statusLabel.setForeground(ThemeManager.getForegroundColor()); break;
-		}
+		statusLabel = new JLabel();
+		setStatus();
 		statusPanel.add(statusLabel);
 		ThemeController.applyTheme(statusPanel);
 		
 		JPanel boxPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-		JCheckBox completedBox = new JCheckBox();
+		completedBox = new JCheckBox();
 		completedBox.setToolTipText("Complete task");
-		completedBox.setIcon(new ImageIcon("Resources/icons/unchecked.png"));
-		completedBox.setSelectedIcon(new ImageIcon("Resources/icons/check.png"));
+		completedBox.setIcon(IconCache.get("unchecked.png"));
+		completedBox.setSelectedIcon(IconCache.get("check.png"));
 		completedBox.setOpaque(false);
 		boxPanel.add(completedBox);
 		ThemeController.applyTheme(boxPanel);
@@ -89,24 +99,19 @@ public class TaskPanel extends JPanel{
 			//task.setCompleted(completedBox.isSelected());
 			setPriorityColor();
 			//TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			TaskController.refresh(mainContent, view, task.getDeadline());
 		});
 		
 		JPanel deleteButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-		JButton deleteButton = new IconOnlyButton("Delete task", new ImageIcon("Resources/icons/delete.png"));
+		JButton deleteButton = new IconOnlyButton("Delete task", IconCache.get("delete.png"));
 		deleteButtonPanel.add(deleteButton);
 		deleteButton.addActionListener(e -> {
-			TaskManager.deleteTask(task); // taskList is flagged as modified in this method
-			if(TaskManager.getLatestFilteredTasks().contains(task)) {
-				TaskManager.getLatestFilteredTasks().remove(task);
-			}
+			TaskManager.deleteTask(task); // also removes the task from the search results
 			//TaskManager.saveTasksForUser(UserSession.getCurrentUser().getUsername());
-			TaskController.refresh(mainContent, view, task.getDeadline());
 		});
 		ThemeController.applyTheme(deleteButtonPanel);
 		
 		JPanel editButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-		JButton editButton = new IconOnlyButton("Edit task", new ImageIcon("Resources/icons/edit.png"));
+		JButton editButton = new IconOnlyButton("Edit task", IconCache.get("edit.png"));
 		editButtonPanel.add(editButton);
 		editButton.addActionListener(e -> {
 			TaskController.editTask(task, taskInfoPanel, mainContent, view);
@@ -154,5 +159,58 @@ public class TaskPanel extends JPanel{
 		taskArea.setBackground(TaskManager.getColorForTask(task));
 	}
 	
+	/**
+	 * Shows the task's status, green if completed and red if overdue.
+	 */
+	private void setStatus() {
+		statusLabel.setText(task.getStatus());
+		switch (task.getTaskStatus()){
+		case TaskStatus.COMPLETED: statusLabel.setForeground(new Color(0x008000)); break;
+		case TaskStatus.OVERDUE: statusLabel.setForeground(new Color(0xff2400)); break;
+		default: statusLabel.setForeground(ThemeManager.getForegroundColor()); break;
+		}
+	}
+	
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		TaskManager.addTaskChangeListener(taskChangeListener);
+	}
+	
+	@Override
+	public void removeNotify() {
+		TaskManager.removeTaskChangeListener(taskChangeListener);
+		super.removeNotify();
+	}
+	
+	/**
+	 * Shows the task's new details after it was edited or completed,
+	 * and closes the window around the panel after it was deleted.
+	 */
+	private void taskChanged(TaskEvent event) {
+		if (event.getType() == TaskEvent.Type.BATCH) {
+			for (TaskEvent change : event.getChanges()) {
+				taskChanged(change);
+			}
+			return;
+		}
+		if (event.getTask() != task) {
+			return;
+		}
+		if (event.getType() == TaskEvent.Type.DELETED) {
+			Window window = SwingUtilities.getWindowAncestor(this);
+			if (window != null) {
+				window.dispose();
+			}
+			return;
+		}
+		taskArea.setText(task.toString());
+		setPriorityColor();
+		setStatus();
+		completedBox.setSelected(task.isCompleted());
+		revalidate();
+		repaint();
+	}
+	
 	
 }